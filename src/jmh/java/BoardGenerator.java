@@ -0,0 +1,90 @@
+package jmh.java;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates reproducible boggle boards and word lists for benchmarks.
+ * Every board generated from the same seed and parameters is identical, so results stay
+ * comparable between runs and between commits.
+ *
+ * @author Andrew Hayes
+ * @version 1.0
+ */
+final class BoardGenerator {
+	static final long SEED = 0x5EED;
+	private static final int[][] DIRECTIONS = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}, {1, -1}, {-1, 1}, {1, 1}, {-1, -1}};
+
+	final char[][] boggleBoard;
+	final List<String> wordsToSearchFor;
+
+	/**
+	 * Generates a square board of random uppercase letters, along with a word list where half the
+	 * words are read off the board, so they are always found, and half are random, so they usually are not.
+	 * @param size The number of rows and columns in the board
+	 * @param wordCount The number of words to search for
+	 * @param wordLength The length of every word, capped at size
+	 */
+	BoardGenerator(int size, int wordCount, int wordLength) {
+		Random random = new Random(SEED);
+		int length = Math.min(wordLength, size);
+
+		boggleBoard = new char[size][size];
+		for(int y=0; y<size; y++) {
+			for(int x=0; x<size; x++) {
+				boggleBoard[y][x] = randomLetter(random);
+			}
+		}
+
+		wordsToSearchFor = new ArrayList<String>(wordCount);
+		for(int i=0; i<wordCount; i++) {
+			StringBuilder word = new StringBuilder(length);
+			if(i % 2 == 0) {
+				int[] direction = DIRECTIONS[random.nextInt(DIRECTIONS.length)];
+				//pick a start far enough from the edges for the word to fit in this direction
+				int x = direction[0] < 0 ? length - 1 + random.nextInt(size - length + 1) : random.nextInt(size - length + 1);
+				int y = direction[1] < 0 ? length - 1 + random.nextInt(size - length + 1) : random.nextInt(size - length + 1);
+				for(int j=0; j<length; j++) {
+					word.append(boggleBoard[y + direction[1] * j][x + direction[0] * j]);
+				}
+			} else {
+				for(int j=0; j<length; j++) {
+					word.append(randomLetter(random));
+				}
+			}
+			wordsToSearchFor.add(word.toString());
+		}
+	}
+
+	/**
+	 * Writes the generated board and words to a temporary WordSearch csv file.
+	 * @return The path of the written file
+	 * @throws IOException
+	 */
+	Path writeCsv() throws IOException {
+		Path path = Files.createTempFile("WordSearchBenchmark", ".csv");
+		try(BufferedWriter writer = Files.newBufferedWriter(path, Charset.defaultCharset())) {
+			writer.write(String.join(",", wordsToSearchFor));
+			for(char[] row: boggleBoard) {
+				writer.write('\n');
+				for(int x=0; x<row.length; x++) {
+					if(x > 0) {
+						writer.write(',');
+					}
+					writer.write(row[x]);
+				}
+			}
+		}
+		return path;
+	}
+
+	private static char randomLetter(Random random) {
+		return (char) ('A' + random.nextInt(26));
+	}
+}
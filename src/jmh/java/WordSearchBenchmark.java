@@ -0,0 +1,107 @@
+package jmh.java;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import main.java.LoadMode;
+import main.java.WordSearch;
+
+/**
+ * Benchmarks WordSearch construction and queries, comparing serial, parallel and automatic
+ * loading over generated boards of increasing size. Run with gradle jmh, which also reports
+ * allocation rates through the gc profiler.
+ *
+ * @author Andrew Hayes
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WordSearchBenchmark {
+	@Param({"15", "250", "1000", "4000"})
+	public int boardSize;
+
+	@Param({"8", "512"})
+	public int wordCount;
+
+	@Param({"5", "20"})
+	public int wordLength;
+
+	@Param({"SERIAL", "PARALLEL", "AUTO"})
+	public LoadMode loadMode;
+
+	private BoardGenerator board;
+	private Path csv;
+	private WordSearch wordSearch;
+	private String foundWord;
+	private String missingWord;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		board = new BoardGenerator(boardSize, wordCount, wordLength);
+		csv = board.writeCsv();
+		wordSearch = new WordSearch(board.boggleBoard, board.wordsToSearchFor, loadMode);
+		foundWord = board.wordsToSearchFor.get(0);
+		missingWord = board.wordsToSearchFor.get(wordCount - 1);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(csv);
+	}
+
+	/**
+	 * Parsing a csv file and building its word map.
+	 */
+	@Benchmark
+	public WordSearch construction() {
+		return new WordSearch(csv.toString(), loadMode);
+	}
+
+	/**
+	 * Building the word map of a board that is already in memory.
+	 */
+	@Benchmark
+	public WordSearch loadWordMap() {
+		return new WordSearch(board.boggleBoard, board.wordsToSearchFor, loadMode);
+	}
+
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.NANOSECONDS)
+	public String findWord() {
+		return wordSearch.findWord(foundWord);
+	}
+
+	/**
+	 * Finding a word that is one of wordsToSearchFor but is not on the board.
+	 */
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.NANOSECONDS)
+	public String findWordMissing() {
+		return wordSearch.findWord(missingWord);
+	}
+
+	@Benchmark
+	public String findWordsToSearchFor() {
+		return wordSearch.findWordsToSearchFor();
+	}
+}
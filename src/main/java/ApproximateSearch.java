@@ -0,0 +1,184 @@
+package main.java;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Finds every occurrence of a pattern on a boggle board within a given Hamming distance, with the
+ * bit-parallel Shift-And (Bitap) algorithm. A '?' in the pattern matches any character without
+ * counting as a mismatch.
+ *
+ * Every row, column and diagonal is read once in its canonical Direction. For each number of
+ * mismatches j up to the limit, a long holds which prefixes of the pattern end at the current cell
+ * with at most j mismatches, and all of them are advanced together in a few shifts and ands per
+ * cell. The pattern spelled backwards is matched in the same pass to find occurrences read in the
+ * reverse Directions. The cost is linear in the size of the board and in the number of mismatches
+ * allowed, however many variants of the pattern those mismatches and wildcards allow.
+ *
+ * @author Andrew Hayes
+ * @version 1.0
+ */
+final class ApproximateSearch {
+	static final char WILDCARD = '?';
+	static final int MAX_PATTERN_LENGTH = 64;
+
+	private final BoggleBoard boggleBoard;
+	private final int numColumns;
+	private final int numRows;
+	private final int length;
+	private final int maxMismatches;
+	private final CharacterMasks forwardMasks;
+	private final CharacterMasks backwardMasks;
+	private final List<WordMatch> matches = new ArrayList<WordMatch>();
+
+	private ApproximateSearch(BoggleBoard boggleBoard, String pattern, int maxMismatches) {
+		this.boggleBoard = boggleBoard;
+		this.numColumns = boggleBoard.getNumColumns();
+		this.numRows = boggleBoard.getNumRows();
+		this.length = pattern.length();
+		this.maxMismatches = maxMismatches;
+		forwardMasks = new CharacterMasks(pattern);
+		backwardMasks = new CharacterMasks(new StringBuilder(pattern).reverse().toString());
+	}
+
+	/**
+	 * Finds every occurrence of a pattern on a boggle board with at most maxMismatches mismatches.
+	 * @param boggleBoard The boggle board to search
+	 * @param pattern The pattern to find, of at most MAX_PATTERN_LENGTH characters, where WILDCARD matches any character
+	 * @param maxMismatches The most characters an occurrence may differ from pattern in
+	 * @return The WordMatch of each occurrence, holding the characters read from boggleBoard and the
+	 *         number of mismatches, sorted by number of mismatches and then in serial search order
+	 */
+	static List<WordMatch> search(BoggleBoard boggleBoard, String pattern, int maxMismatches) {
+		if(pattern.length() > MAX_PATTERN_LENGTH) {
+			throw new IllegalArgumentException("Pattern must be at most " + MAX_PATTERN_LENGTH + " characters long");
+		} else if(maxMismatches < 0) {
+			throw new IllegalArgumentException("maxMismatches must not be negative");
+		} else if(pattern.isEmpty()) {
+			return Collections.emptyList();
+		}
+
+		//an occurrence can never have more mismatches than characters
+		ApproximateSearch search = new ApproximateSearch(boggleBoard, pattern, Math.min(maxMismatches, pattern.length()));
+		//a single character reads the same in every Direction, so each cell is only reported once
+		Direction[] directions = pattern.length() == 1 ? new Direction[] {Direction.HORIZONTAL} : Direction.LINES;
+		for(Direction direction: directions) {
+			search.searchLines(direction);
+		}
+		Collections.sort(search.matches, Comparator.comparingInt(WordMatch::getMismatches).thenComparingLong(WordMatch::getPackedMatch));
+		return search.matches;
+	}
+
+	/**
+	 * Reads every line of the board in a Direction.
+	 * @param direction The canonical Direction of the lines
+	 */
+	private void searchLines(Direction direction) {
+		int dx = direction.getDx();
+		int dy = direction.getDy();
+		int stride = dy * numColumns + dx;
+		long[] forward = new long[maxMismatches + 1];
+		long[] backward = new long[maxMismatches + 1];
+		direction.forEachLine(numColumns, numRows, (x, y, lineLength) -> {
+			if(lineLength < length) {
+				return;
+			}
+
+			Arrays.fill(forward, 0);
+			Arrays.fill(backward, 0);
+			for(int offset=0, index=y*numColumns+x; offset<lineLength; offset++, index+=stride) {
+				char c = boggleBoard.get(index);
+				int forwardMismatches = advance(forward, forwardMasks.get(c));
+				int backwardMismatches = advance(backward, backwardMasks.get(c));
+				int start = offset - (length - 1);
+				if(forwardMismatches != -1) {
+					report(x + start * dx, y + start * dy, direction, forwardMismatches);
+				}
+				if(backwardMismatches != -1 && length > 1) {
+					report(x + offset * dx, y + offset * dy, direction.reverse(), backwardMismatches);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Advances the Shift-And states of a pattern by one character.
+	 * @param states Bit i of states[j] is set if the first i + 1 characters of the pattern end at
+	 *        the current cell with at most j mismatches
+	 * @param mask Bit i is set if the character read matches character i of the pattern
+	 * @return The fewest mismatches the whole pattern ends at the new cell with, or -1 if it does not
+	 */
+	private int advance(long[] states, long mask) {
+		long previous = states[0];
+		states[0] = (states[0] << 1 | 1) & mask;
+		for(int j=1; j<states.length; j++) {
+			long current = states[j];
+			//either character i matches, or it is substituted and the first i characters had one mismatch fewer
+			states[j] = ((current << 1 | 1) & mask) | (previous << 1 | 1);
+			previous = current;
+		}
+
+		//every state holds the prefixes of the one before it, so most cells are settled by the last one
+		long found = 1L << (length - 1);
+		if((states[states.length - 1] & found) == 0) {
+			return -1;
+		}
+		int j = 0;
+		while((states[j] & found) == 0) {
+			j++;
+		}
+		return j;
+	}
+
+	private void report(int x, int y, Direction direction, int mismatches) {
+		char[] word = new char[length];
+		for(int i=0; i<length; i++) {
+			word[i] = boggleBoard.get(x + i * direction.getDx(), y + i * direction.getDy());
+		}
+		matches.add(new WordMatch(new String(word), PackedMatch.pack(x, y, direction, length), mismatches));
+	}
+
+	/**
+	 * The Shift-And mask of every character for one pattern. Characters that are not in the pattern
+	 * share the mask of its wildcards.
+	 */
+	private static final class CharacterMasks {
+		private final long[] asciiMasks = new long[128];
+		private final Map<Character, Long> masks = new HashMap<Character, Long>();
+		private final long wildcardMask;
+
+		CharacterMasks(String pattern) {
+			long wildcards = 0;
+			for(int i=0; i<pattern.length(); i++) {
+				if(pattern.charAt(i) == WILDCARD) {
+					wildcards |= 1L << i;
+				}
+			}
+			wildcardMask = wildcards;
+			Arrays.fill(asciiMasks, wildcards);
+			for(int i=0; i<pattern.length(); i++) {
+				char c = pattern.charAt(i);
+				if(c == WILDCARD) {
+					continue;
+				} else if(c < asciiMasks.length) {
+					asciiMasks[c] |= 1L << i;
+				} else {
+					masks.put(c, get(c) | 1L << i);
+				}
+			}
+		}
+
+		long get(char c) {
+			if(c < asciiMasks.length) {
+				return asciiMasks[c];
+			}
+			Long mask = masks.get(c);
+			return mask == null ? wildcardMask : mask;
+		}
+	}
+}
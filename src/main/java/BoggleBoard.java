@@ -0,0 +1,197 @@
+package main.java;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * A fixed size matrix of characters making up a boggle board.
+ * Cells are stored in a single flat array in row-major order, so a cell is found with plain index
+ * arithmetic and a traversal along a row reads contiguous memory. Boards made up only of ASCII
+ * characters are stored one byte per cell; the board switches to one char per cell the first time
+ * a non ASCII character is set.
+ * Boards may be rectangular, with any number of columns and rows.
+ * 
+ * A board may also be read straight from a ByteBuffer, such as a memory mapped index file, in which
+ * case it is copied onto the heap the first time it is changed.
+ *
+ * @author Andrew Hayes
+ * @version 1.0
+ */
+final class BoggleBoard {
+	private final int numColumns;
+	private int numRows;
+	private byte[] asciiCells;
+	private char[] cells;
+	private ByteBuffer mappedCells;
+	private boolean mappedAscii;
+
+	/**
+	 * Constructs a new BoggleBoard with every cell set to the null character.
+	 * @param numColumns The number of columns in the board
+	 * @param numRows The number of rows in the board
+	 */
+	BoggleBoard(int numColumns, int numRows) {
+		this.numColumns = numColumns;
+		this.numRows = numRows;
+		this.asciiCells = new byte[Math.multiplyExact(numColumns, numRows)];
+	}
+
+	/**
+	 * Constructs a new BoggleBoard that reads its cells from a buffer, without copying them.
+	 * @param numColumns The number of columns in the board
+	 * @param numRows The number of rows in the board
+	 * @param mappedCells The cells in row-major order, starting at position 0 of the buffer
+	 * @param ascii true if each cell is one byte, false if each cell is one two byte char
+	 */
+	BoggleBoard(int numColumns, int numRows, ByteBuffer mappedCells, boolean ascii) {
+		this.numColumns = numColumns;
+		this.numRows = numRows;
+		this.mappedCells = mappedCells;
+		this.mappedAscii = ascii;
+	}
+
+	/**
+	 * Gets the character at a coordinate on this board.
+	 * @param x The x coordinate, or column
+	 * @param y The y coordinate, or row
+	 * @return The character at (x,y)
+	 */
+	char get(int x, int y) {
+		return get(y * numColumns + x);
+	}
+
+	/**
+	 * Gets the character at a row-major index on this board.
+	 * @param index The index of the cell, equal to y * numColumns + x
+	 * @return The character at index
+	 */
+	char get(int index) {
+		if(asciiCells != null) {
+			return (char) asciiCells[index];
+		} else if(cells != null) {
+			return cells[index];
+		} else if(mappedAscii) {
+			return (char) mappedCells.get(index);
+		}
+		return mappedCells.getChar(index << 1);
+	}
+
+	/**
+	 * Sets the character at a coordinate on this board.
+	 * @param x The x coordinate, or column
+	 * @param y The y coordinate, or row
+	 * @param c The character to set
+	 */
+	void set(int x, int y, char c) {
+		int index = y * numColumns + x;
+		if(mappedCells != null) {
+			copyToHeap();
+		}
+		if(asciiCells != null) {
+			if(c < 0x80) {
+				asciiCells[index] = (byte) c;
+				return;
+			}
+			widen();
+		}
+		cells[index] = c;
+	}
+
+	/**
+	 * Changes the number of rows in this board. Rows that remain keep their characters, and new rows
+	 * are filled with the null character. Storage is only reallocated when the board grows beyond
+	 * the rows it has held before, so shrinking a board that was sized from an estimate is free.
+	 * @param numRows The new number of rows
+	 */
+	void setNumRows(int numRows) {
+		if(mappedCells != null) {
+			copyToHeap();
+		}
+		int oldSize = numColumns * this.numRows;
+		int size = Math.multiplyExact(numColumns, numRows);
+		if(asciiCells != null) {
+			if(size > oldSize) {
+				Arrays.fill(asciiCells, oldSize, Math.min(size, asciiCells.length), (byte) 0);
+			}
+			if(size > asciiCells.length) {
+				asciiCells = Arrays.copyOf(asciiCells, size);
+			}
+		} else {
+			if(size > oldSize) {
+				Arrays.fill(cells, oldSize, Math.min(size, cells.length), '\0');
+			}
+			if(size > cells.length) {
+				cells = Arrays.copyOf(cells, size);
+			}
+		}
+		this.numRows = numRows;
+	}
+
+	/**
+	 * Gets the number of columns in this board.
+	 * @return The width of this board
+	 */
+	int getNumColumns() {
+		return numColumns;
+	}
+
+	/**
+	 * Gets the number of rows in this board.
+	 * @return The height of this board
+	 */
+	int getNumRows() {
+		return numRows;
+	}
+
+	/**
+	 * Estimates the heap used by this board, including any storage reserved for rows beyond numRows.
+	 * @return The estimated size of this board in bytes
+	 */
+	long getEstimatedBytes() {
+		long cellBytes = 0;
+		if(asciiCells != null) {
+			cellBytes = asciiCells.length;
+		} else if(cells != null) {
+			cellBytes = 2L * cells.length;
+		}
+		return 40 + 16 + cellBytes;
+	}
+
+	/**
+	 * Checks whether every cell of this board is stored in one byte.
+	 * @return true if this board only holds ASCII characters, false otherwise
+	 */
+	boolean isAscii() {
+		return asciiCells != null || (mappedCells != null && mappedAscii);
+	}
+
+	/**
+	 * Copies the cells of a board read from a buffer onto the heap, so they can be changed.
+	 */
+	private void copyToHeap() {
+		int size = numColumns * numRows;
+		if(mappedAscii) {
+			asciiCells = new byte[size];
+			for(int i=0; i<size; i++) {
+				asciiCells[i] = mappedCells.get(i);
+			}
+		} else {
+			cells = new char[size];
+			for(int i=0; i<size; i++) {
+				cells[i] = mappedCells.getChar(i << 1);
+			}
+		}
+		mappedCells = null;
+	}
+
+	/**
+	 * Switches this board from one byte per cell to one char per cell.
+	 */
+	private void widen() {
+		cells = new char[asciiCells.length];
+		for(int i=0; i<asciiCells.length; i++) {
+			cells[i] = (char) asciiCells[i];
+		}
+		asciiCells = null;
+	}
+}
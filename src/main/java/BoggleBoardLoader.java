@@ -0,0 +1,343 @@
+package main.java;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+/**
+ * Loads a WordSearch csv file in a single streaming pass. The file is read through a FileChannel
+ * with a fixed size buffer, and cells are written straight into a BoggleBoard as they are parsed,
+ * so no copy of the whole file, its lines or its cells is ever held in memory.
+ *
+ * The first line holds the words to search for, separated by commas. All successive lines make up
+ * the MxN boggle board, one comma separated row per line, with every row the same length. Only the
+ * first character of each cell is kept. As with String.split, empty cells at the end of a row are
+ * ignored. Lines may end with either \n or \r\n, and blank lines at the end of the file are ignored.
+ * 
+ * Since the number of rows is not known until the whole file has been read, the board is first
+ * sized from the length of its first row and the size of the file, and is only regrown if that
+ * estimate turns out to be too small.
+ *
+ * Reads are made through ForkJoinPool.managedBlock, so a load running on a ForkJoinPool does not
+ * leave the pool a thread short while it waits for the file.
+ *
+ * @author Andrew Hayes
+ * @version 1.0
+ */
+final class BoggleBoardLoader {
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	private final List<String> wordsToSearchFor;
+	private final long fileSize;
+	private final Consumer<List<String>> onWordsLoaded;
+	private final RowListener rowListener;
+	private final StringBuilder word = new StringBuilder();
+	private BoggleBoard boggleBoard;
+	private char[] firstRow = new char[16];
+	private boolean inHeader = true;
+	private boolean lineStarted = false;
+	private boolean cellStarted = false;
+	private long charsRead;
+	private long headerLength;
+	private int numColumns;
+	private int capacityRows;
+	private int column;
+	private int row;
+	private int blankLines;
+	//empty cells read since the last cell, which are only allowed at the end of a row
+	private int emptyCells;
+
+	private BoggleBoardLoader(List<String> wordsToSearchFor, long fileSize, Consumer<List<String>> onWordsLoaded,
+			RowListener rowListener) {
+		this.wordsToSearchFor = wordsToSearchFor;
+		this.fileSize = fileSize;
+		this.onWordsLoaded = onWordsLoaded;
+		this.rowListener = rowListener;
+	}
+
+	/**
+	 * Loads a WordSearch csv file.
+	 * @param path The file path containing WordSearch data
+	 * @param wordsToSearchFor The list to add the words on the first line of the file to
+	 * @return The BoggleBoard made up of all successive lines of the file
+	 * @throws IOException If the file cannot be read or is incorrectly formatted
+	 */
+	static BoggleBoard load(Path path, List<String> wordsToSearchFor) throws IOException {
+		return load(path, wordsToSearchFor, words -> {}, RowListener.NONE);
+	}
+
+	/**
+	 * Loads a WordSearch csv file, handing over the words to search for as soon as the first line
+	 * has been parsed and each row of the board as soon as it is complete, so that work on them can
+	 * start while the rest of the board is still being read.
+	 * @param path The file path containing WordSearch data
+	 * @param wordsToSearchFor The list to add the words on the first line of the file to
+	 * @param onWordsLoaded Called with wordsToSearchFor once the first line has been parsed, after
+	 *        which wordsToSearchFor is not changed again. Not called if the first line cannot be read.
+	 * @param rowListener The RowListener to hand each complete row to
+	 * @return The BoggleBoard made up of all successive lines of the file
+	 * @throws IOException If the file cannot be read or is incorrectly formatted
+	 */
+	static BoggleBoard load(Path path, List<String> wordsToSearchFor, Consumer<List<String>> onWordsLoaded,
+			RowListener rowListener) throws IOException {
+		CharsetDecoder decoder = Charset.defaultCharset().newDecoder()
+				.onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+		try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+				Reader reader = Channels.newReader(channel, decoder, BUFFER_SIZE)) {
+			return load(reader, channel.size(), wordsToSearchFor, onWordsLoaded, rowListener);
+		}
+	}
+
+	/**
+	 * Loads WordSearch csv data from a Reader, such as the standard input of a worker process.
+	 * The Reader is read to its end but not closed.
+	 * @param reader The Reader to read WordSearch data from
+	 * @param sizeEstimate An estimate of the number of characters to be read, used to size the board
+	 * @param wordsToSearchFor The list to add the words on the first line to
+	 * @return The BoggleBoard made up of all successive lines
+	 * @throws IOException If the data cannot be read or is incorrectly formatted
+	 */
+	static BoggleBoard load(Reader reader, long sizeEstimate, List<String> wordsToSearchFor) throws IOException {
+		return load(reader, sizeEstimate, wordsToSearchFor, words -> {}, RowListener.NONE);
+	}
+
+	private static BoggleBoard load(Reader reader, long sizeEstimate, List<String> wordsToSearchFor,
+			Consumer<List<String>> onWordsLoaded, RowListener rowListener) throws IOException {
+		BoggleBoardLoader loader = new BoggleBoardLoader(wordsToSearchFor, sizeEstimate, onWordsLoaded, rowListener);
+		char[] buffer = new char[BUFFER_SIZE];
+		BlockingRead blockingRead = new BlockingRead(reader, buffer);
+		int read;
+		while((read = blockingRead.read()) != -1) {
+			for(int i=0; i<read; i++) {
+				loader.accept(buffer[i]);
+			}
+		}
+		return loader.finish();
+	}
+
+	/**
+	 * Feeds the next character of the file to this loader.
+	 * @param c The next character
+	 * @throws IOException If the file is incorrectly formatted
+	 */
+	private void accept(char c) throws IOException {
+		charsRead++;
+		switch(c) {
+		case '\r':
+			return;
+		case '\n':
+			endLine();
+			return;
+		case ',':
+			lineStarted = true;
+			if(inHeader) {
+				endWord();
+			} else {
+				endCell();
+			}
+			return;
+		default:
+			lineStarted = true;
+			if(inHeader) {
+				word.append(c);
+			} else if(!cellStarted) {
+				if(emptyCells > 0) {
+					throw new IOException("WordSearch matrix is incorrectly formatted! Empty cell on row " + (row + 1));
+				}
+				setCell(c);
+				cellStarted = true;
+			}
+		}
+	}
+
+	private void endWord() {
+		wordsToSearchFor.add(word.toString());
+		word.setLength(0);
+	}
+
+	private void endCell() {
+		if(!cellStarted) {
+			emptyCells++;
+			return;
+		}
+		cellStarted = false;
+		column++;
+	}
+
+	private void endLine() throws IOException {
+		if(inHeader) {
+			endWord();
+			//mirror String.split, which drops trailing empty words
+			while(wordsToSearchFor.size() > 1 && wordsToSearchFor.get(wordsToSearchFor.size() - 1).isEmpty()) {
+				wordsToSearchFor.remove(wordsToSearchFor.size() - 1);
+			}
+			inHeader = false;
+			lineStarted = false;
+			headerLength = charsRead;
+			onWordsLoaded.accept(wordsToSearchFor);
+			return;
+		}
+
+		if(!lineStarted) {
+			blankLines++;
+			return;
+		}
+		if(blankLines > 0) {
+			throw new IOException("WordSearch matrix is incorrectly formatted! Blank line before row " + (row + 1));
+		}
+
+		//mirror String.split, which drops trailing empty cells
+		endCell();
+		emptyCells = 0;
+		if(column == 0) {
+			throw new IOException("WordSearch matrix is incorrectly formatted! Empty cell on row " + (row + 1));
+		}
+		if(row == 0) {
+			numColumns = column;
+			long rowLength = charsRead - headerLength;
+			capacityRows = (int) Math.min(Integer.MAX_VALUE / numColumns, Math.max(1, (fileSize - headerLength) / rowLength));
+			boggleBoard = new BoggleBoard(numColumns, capacityRows);
+			for(int x=0; x<numColumns; x++) {
+				boggleBoard.set(x, 0, firstRow[x]);
+			}
+			firstRow = null;
+		} else if(column != numColumns) {
+			throw new IOException("WordSearch matrix is incorrectly formatted! All rows must be the same length");
+		}
+
+		row++;
+		column = 0;
+		lineStarted = false;
+		rowListener.rowsLoaded(boggleBoard, row);
+	}
+
+	private void setCell(char c) throws IOException {
+		if(row == 0) {
+			if(column == firstRow.length) {
+				firstRow = Arrays.copyOf(firstRow, firstRow.length * 2);
+			}
+			firstRow[column] = c;
+		} else if(column < numColumns) {
+			if(row == capacityRows) {
+				capacityRows = (int) Math.min(Integer.MAX_VALUE / numColumns, 2L * capacityRows);
+				rowListener.beforeReallocate();
+				boggleBoard.setNumRows(capacityRows);
+			} else if(c >= 0x80 && boggleBoard.isAscii()) {
+				//the board switches to one char per cell
+				rowListener.beforeReallocate();
+			}
+			boggleBoard.set(column, row, c);
+		} else {
+			throw new IOException("WordSearch matrix is incorrectly formatted! All rows must be the same length");
+		}
+	}
+
+	private BoggleBoard finish() throws IOException {
+		if(lineStarted) {
+			endLine();
+		}
+		if(row == 0) {
+			throw new IOException("File must be at least two lines long!");
+		}
+		boggleBoard.setNumRows(row);
+		return boggleBoard;
+	}
+
+	/**
+	 * Receives the rows of a board as they are parsed, so that they can be read while the rest of the
+	 * board is still being parsed.
+	 */
+	interface RowListener {
+		/**
+		 * A RowListener that ignores every row.
+		 */
+		RowListener NONE = new RowListener() {
+			@Override
+			public void rowsLoaded(BoggleBoard boggleBoard, int numRows) {
+			}
+
+			@Override
+			public void beforeReallocate() {
+			}
+		};
+
+		/**
+		 * Called on the loading thread each time a row is complete.
+		 * @param boggleBoard The board being loaded, which is the same object on every call
+		 * @param numRows The number of complete rows, which are not changed again
+		 */
+		void rowsLoaded(BoggleBoard boggleBoard, int numRows);
+
+		/**
+		 * Called on the loading thread before the storage of the board is reallocated, which must
+		 * not be read by any other thread until this method has returned.
+		 */
+		void beforeReallocate();
+	}
+
+	/**
+	 * Reads the next buffer of a Reader as a ForkJoinPool.ManagedBlocker, so that a pool thread
+	 * waiting for the read can be replaced for as long as it is blocked.
+	 */
+	private static final class BlockingRead implements ForkJoinPool.ManagedBlocker {
+		private final Reader reader;
+		private final char[] buffer;
+		private boolean done;
+		private int read;
+		private IOException failure;
+
+		BlockingRead(Reader reader, char[] buffer) {
+			this.reader = reader;
+			this.buffer = buffer;
+		}
+
+		/**
+		 * Reads into the buffer.
+		 * @return The number of characters read, or -1 at the end of the stream
+		 * @throws IOException If the Reader fails, or the thread is interrupted while waiting for it
+		 */
+		int read() throws IOException {
+			done = false;
+			failure = null;
+			try {
+				ForkJoinPool.managedBlock(this);
+			} catch(InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("Interrupted while reading WordSearch data");
+			}
+			if(failure != null) {
+				throw failure;
+			}
+			return read;
+		}
+
+		@Override
+		public boolean block() {
+			try {
+				read = reader.read(buffer);
+			} catch(IOException e) {
+				failure = e;
+			}
+			done = true;
+			return true;
+		}
+
+		@Override
+		public boolean isReleasable() {
+			return done;
+		}
+	}
+}
@@ -0,0 +1,124 @@
+package main.java;
+
+/**
+ * The eight directions a word can be read in on a boggle board.
+ * Constants are declared in the order a serial search is considered to visit them from each
+ * coordinate, which is the order matches at the same coordinate are ranked in. Every direction is
+ * immediately followed by its reverse. x grows to the right while y grows downwards.
+ *
+ * @author Andrew Hayes
+ * @version 1.0
+ */
+enum Direction {
+	HORIZONTAL(1, 0),
+	HORIZONTAL_REVERSE(-1, 0),
+	VERTICAL(0, 1),
+	VERTICAL_REVERSE(0, -1),
+	DIAGONAL_ASCENDING(1, -1),
+	DIAGONAL_ASCENDING_REVERSE(-1, 1),
+	DIAGONAL_DESCENDING(1, 1),
+	DIAGONAL_DESCENDING_REVERSE(-1, -1);
+
+	private static final Direction[] VALUES = values();
+	/**
+	 * One Direction along each kind of line, the canonical Direction lines are read in. Each of the
+	 * others is the reverse of one of these.
+	 */
+	static final Direction[] LINES = {HORIZONTAL, VERTICAL, DIAGONAL_ASCENDING, DIAGONAL_DESCENDING};
+
+	private final int dx;
+	private final int dy;
+
+	private Direction(int dx, int dy) {
+		this.dx = dx;
+		this.dy = dy;
+	}
+
+	/**
+	 * Gets the change in x coordinate for one step in this direction.
+	 * @return -1, 0 or 1
+	 */
+	int getDx() {
+		return dx;
+	}
+
+	/**
+	 * Gets the change in y coordinate for one step in this direction.
+	 * @return -1, 0 or 1
+	 */
+	int getDy() {
+		return dy;
+	}
+
+	/**
+	 * Gets the direction pointing the opposite way along the same line.
+	 * @return The reverse of this Direction
+	 */
+	Direction reverse() {
+		return VALUES[ordinal() ^ 1];
+	}
+
+	/**
+	 * Gets the number of cells that can be read in this direction from a coordinate before running
+	 * off a board.
+	 * @param x The x coordinate to start from
+	 * @param y The y coordinate to start from
+	 * @param numColumns The number of columns of the board
+	 * @param numRows The number of rows of the board
+	 * @return The number of cells that can be read, including the starting cell
+	 */
+	int getLineLength(int x, int y, int numColumns, int numRows) {
+		return Math.min(getRunLength(x, dx, numColumns), getRunLength(y, dy, numRows));
+	}
+
+	private static int getRunLength(int start, int step, int size) {
+		if(step > 0) {
+			return size - start;
+		} else if(step < 0) {
+			return start + 1;
+		}
+		return Integer.MAX_VALUE;
+	}
+
+	/**
+	 * Visits every line of a board that runs in this direction, from the cell it starts on. Lines are
+	 * visited in the row-major order of their first cells.
+	 * @param numColumns The number of columns of the board
+	 * @param numRows The number of rows of the board
+	 * @param visitor The LineVisitor to hand each line to
+	 */
+	void forEachLine(int numColumns, int numRows, LineVisitor visitor) {
+		for(int y=0; y<numRows; y++) {
+			for(int x=0; x<numColumns; x++) {
+				int previousX = x - dx;
+				int previousY = y - dy;
+				if(previousX >= 0 && previousX < numColumns && previousY >= 0 && previousY < numRows) {
+					continue; //(x,y) is not the first cell of a line in this direction
+				}
+				visitor.visit(x, y, getLineLength(x, y, numColumns, numRows));
+			}
+		}
+	}
+
+	/**
+	 * Gets a Direction by its ordinal without copying the values() array.
+	 * @param ordinal The ordinal of the Direction
+	 * @return The Direction with the given ordinal
+	 */
+	static Direction of(int ordinal) {
+		return VALUES[ordinal];
+	}
+
+	/**
+	 * Receives the lines of a board from forEachLine.
+	 */
+	interface LineVisitor {
+		/**
+		 * Visits one line.
+		 * @param x The x coordinate of the first cell of the line
+		 * @param y The y coordinate of the first cell of the line
+		 * @param length The number of cells on the line
+		 */
+		void visit(int x, int y, int length);
+	}
+}
@@ -0,0 +1,187 @@
+package main.java;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * One bitset per character of a boggle board, with bit y * numColumns + x of a character's bitset
+ * set when that character is at (x,y). Shifting the bitset of a word's second letter back by one
+ * step in a Direction and intersecting it with the bitset of its first letter gives every cell the
+ * word could start at, 64 cells per operation, before a single character is compared.
+ *
+ * WordSearch uses these to find the start cells of each line worth walking a WordTrie from. Both
+ * the forward and the reverse trie take part, since a line is walked for the words read forwards
+ * and backwards along it at once.
+ *
+ * @author Andrew Hayes
+ * @version 1.0
+ */
+final class LetterBitboards {
+	//above this many distinct two letter prefixes, building the candidates costs more than walking every cell
+	private static final int MAX_PREFIXES = 64;
+
+	private final int numColumns;
+	private final int numCells;
+	private final long[][] asciiBitboards = new long[128][];
+	private final Map<Character, long[]> bitboards = new HashMap<Character, long[]>();
+	//every cell except those in the last column, which no step with dx = 1 can start from
+	private final long[] notLastColumn;
+	private int numBitboards;
+
+	/**
+	 * Builds the bitboards of every character on a boggle board.
+	 * @param boggleBoard The boggle board to build bitboards of
+	 */
+	LetterBitboards(BoggleBoard boggleBoard) {
+		numColumns = boggleBoard.getNumColumns();
+		numCells = numColumns * boggleBoard.getNumRows();
+		notLastColumn = new long[(numCells + 63) >>> 6];
+		for(int i=0; i<numCells; i++) {
+			setBit(getBitboard(boggleBoard.get(i)), i);
+			if(i % numColumns != numColumns - 1) {
+				setBit(notLastColumn, i);
+			}
+		}
+	}
+
+	/**
+	 * Records that the character at a cell has changed.
+	 * @param index The row-major index of the cell
+	 * @param previous The character that was at the cell
+	 * @param c The character now at the cell
+	 */
+	void set(int index, char previous, char c) {
+		getBitboard(previous)[index >>> 6] &= ~(1L << index);
+		setBit(getBitboard(c), index);
+	}
+
+	/**
+	 * Finds every cell a line in a Direction could start a word from, forwards or backwards, by
+	 * intersecting the bitboards of the first two letters of each word. Single letter words count
+	 * every cell holding their letter.
+	 * @param trie The WordTrie of words to search for
+	 * @param direction The Direction the lines are read in, which must have dx of 0 or 1
+	 * @return A bitset of candidate start cells, or null if trie has too many two letter prefixes for
+	 *         filtering to pay off, in which case every cell is a candidate
+	 */
+	long[] getCandidates(WordTrie trie, Direction direction) {
+		Set<Integer> prefixes = new HashSet<Integer>();
+		Set<Character> singleLetters = new HashSet<Character>();
+		addPrefixes(trie.getRoot(), prefixes, singleLetters);
+		addPrefixes(trie.getReverseRoot(), prefixes, singleLetters);
+		if(prefixes.size() > MAX_PREFIXES) {
+			return null;
+		}
+
+		long[] candidates = new long[notLastColumn.length];
+		for(char c: singleLetters) {
+			or(candidates, findBitboard(c));
+		}
+		int stride = direction.getDy() * numColumns + direction.getDx();
+		long[] pair = new long[candidates.length];
+		boolean rightward = direction.getDx() == 1;
+		for(int prefix: prefixes) {
+			long[] first = findBitboard((char) (prefix >>> 16));
+			long[] second = findBitboard((char) prefix);
+			if(first == null || second == null) {
+				continue;
+			}
+			shift(second, stride, pair);
+			for(int i=0; i<pair.length; i++) {
+				candidates[i] |= first[i] & pair[i] & (rightward ? notLastColumn[i] : -1L);
+			}
+		}
+		return candidates;
+	}
+
+	/**
+	 * Gets the next set bit of a bitset, starting from a given index.
+	 * @param bitset The bitset to read
+	 * @param from The index to start from
+	 * @return The index of the next set bit, or -1 if there is none
+	 */
+	static int nextSetBit(long[] bitset, int from) {
+		int word = from >>> 6;
+		if(word >= bitset.length) {
+			return -1;
+		}
+		long bits = bitset[word] & (-1L << from);
+		while(bits == 0) {
+			if(++word == bitset.length) {
+				return -1;
+			}
+			bits = bitset[word];
+		}
+		return (word << 6) + Long.numberOfTrailingZeros(bits);
+	}
+
+	/**
+	 * Estimates the heap used by these bitboards.
+	 * @return The estimated size in bytes
+	 */
+	long getEstimatedBytes() {
+		return (numBitboards + 1L) * (16 + 8L * notLastColumn.length) + 16 + 8L * asciiBitboards.length;
+	}
+
+	private long[] findBitboard(char c) {
+		return c < asciiBitboards.length ? asciiBitboards[c] : bitboards.get(c);
+	}
+
+	private long[] getBitboard(char c) {
+		long[] bitboard = findBitboard(c);
+		if(bitboard == null) {
+			bitboard = new long[notLastColumn.length];
+			numBitboards++;
+			if(c < asciiBitboards.length) {
+				asciiBitboards[c] = bitboard;
+			} else {
+				bitboards.put(c, bitboard);
+			}
+		}
+		return bitboard;
+	}
+
+	private static void addPrefixes(WordTrie.Node root, Set<Integer> prefixes, Set<Character> singleLetters) {
+		for(int i=0; i<root.getNumChildren(); i++) {
+			WordTrie.Node child = root.getChildAt(i);
+			if(child.getWord() != null) {
+				singleLetters.add(root.getLabelAt(i));
+			}
+			for(int j=0; j<child.getNumChildren(); j++) {
+				prefixes.add(root.getLabelAt(i) << 16 | child.getLabelAt(j));
+			}
+		}
+	}
+
+	/**
+	 * Sets bit i of out to bit i + offset of in, for every bit of out. Bits shifted in from outside
+	 * of in are 0.
+	 */
+	private static void shift(long[] in, int offset, long[] out) {
+		int words = offset >> 6;
+		int bits = offset & 63;
+		for(int i=0; i<out.length; i++) {
+			long low = getWord(in, i + words);
+			long high = bits == 0 ? 0 : getWord(in, i + words + 1);
+			out[i] = bits == 0 ? low : (low >>> bits) | (high << (64 - bits));
+		}
+	}
+
+	private static long getWord(long[] bitset, int word) {
+		return word >= 0 && word < bitset.length ? bitset[word] : 0;
+	}
+
+	private static void or(long[] into, long[] bitset) {
+		if(bitset != null) {
+			for(int i=0; i<into.length; i++) {
+				into[i] |= bitset[i];
+			}
+		}
+	}
+
+	private static void setBit(long[] bitset, int index) {
+		bitset[index >>> 6] |= 1L << index;
+	}
+}
@@ -0,0 +1,32 @@
+package main.java;
+
+/**
+ * How a WordSearch searches its boggle board for the words to search for when it is loaded.
+ *
+ * @author Andrew Hayes
+ * @version 1.0
+ */
+public enum LoadMode {
+	/**
+	 * Searches the whole board on the loading thread.
+	 */
+	SERIAL,
+	/**
+	 * Splits the board into tiles that are searched independently on a fork/join pool.
+	 */
+	PARALLEL,
+	/**
+	 * Searches in parallel only when the pool has more than one thread and the board has enough
+	 * lines that could hold a word for splitting it to pay off, and serially otherwise.
+	 */
+	AUTO;
+
+	/**
+	 * Gets the LoadMode chosen by the boolean parallel flag of the WordSearch constructors.
+	 * @param parallel The boolean specifying whether to use parallel loading
+	 * @return PARALLEL if parallel is true, SERIAL otherwise
+	 */
+	static LoadMode of(boolean parallel) {
+		return parallel ? PARALLEL : SERIAL;
+	}
+}
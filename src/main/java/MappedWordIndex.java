@@ -0,0 +1,233 @@
+package main.java;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A WordSearch word map and boggle board saved to a binary file, and read back by memory mapping it.
+ * Lookups probe a hash table inside the mapped file, and the board is read straight from the mapped
+ * file, so opening an index costs no more than reading its word list, however large the board is.
+ * Several processes mapping the same file share one copy of it in the page cache.
+ *
+ * File layout, with every number big-endian:
+ * <pre>
+ * int magic, int version, int numColumns, int numRows, int cellWidth (1 or 2), int wordCount, int tableSize
+ * wordCount times: int length, length chars                  the words to search for, in order
+ * wordCount longs                                           the packed match of each word, or PackedMatch.NONE
+ * tableSize ints                                            open addressing hash table of word indices, -1 if empty
+ * numColumns * numRows * cellWidth bytes                    the board, in row-major order
+ * </pre>
+ * Files must be smaller than 2GB, the largest region a single mapping can cover.
+ *
+ * @author Andrew Hayes
+ * @version 1.0
+ */
+final class MappedWordIndex {
+	private static final int MAGIC = 0x57534958; //"WSIX"
+	private static final int VERSION = 1;
+	private static final int HEADER_BYTES = 7 * 4;
+
+	private final ByteBuffer buffer;
+	private final List<String> words;
+	private final int matchesOffset;
+	private final int tableOffset;
+	private final int tableMask;
+	private final BoggleBoard boggleBoard;
+
+	private MappedWordIndex(ByteBuffer buffer) throws IOException {
+		this.buffer = buffer;
+		if(buffer.getInt(0) != MAGIC) {
+			throw new IOException("Not a WordSearch index file");
+		}
+		if(buffer.getInt(4) != VERSION) {
+			throw new IOException("Unsupported WordSearch index version " + buffer.getInt(4));
+		}
+		int numColumns = buffer.getInt(8);
+		int numRows = buffer.getInt(12);
+		int cellWidth = buffer.getInt(16);
+		int wordCount = buffer.getInt(20);
+		int tableSize = buffer.getInt(24);
+		if(numColumns < 0 || numRows < 0 || (cellWidth != 1 && cellWidth != 2) || wordCount < 0) {
+			throw new IOException("WordSearch index file is corrupt");
+		}
+		//a power of two larger than wordCount always leaves indexOf an empty slot to stop at
+		if(tableSize <= wordCount || Integer.bitCount(tableSize) != 1) {
+			throw new IOException("WordSearch index file is corrupt");
+		}
+		//every word takes at least its length and its match, so this bounds the word list before it is allocated
+		checkFits(HEADER_BYTES + 12L * wordCount);
+
+		int position = HEADER_BYTES;
+		words = new ArrayList<String>(wordCount);
+		for(int i=0; i<wordCount; i++) {
+			checkFits(position + 4L);
+			int length = buffer.getInt(position);
+			if(length < 0) {
+				throw new IOException("WordSearch index file is corrupt");
+			}
+			checkFits(position + 4L + 2L * length);
+			char[] word = new char[length];
+			position += 4;
+			for(int j=0; j<word.length; j++) {
+				word[j] = buffer.getChar(position);
+				position += 2;
+			}
+			words.add(new String(word));
+		}
+
+		matchesOffset = position;
+		tableOffset = matchesOffset + 8 * wordCount;
+		tableMask = tableSize - 1;
+		long boardOffset = tableOffset + 4L * tableSize;
+		checkFits(boardOffset + (long) numColumns * numRows * cellWidth);
+		int usedSlots = 0;
+		for(int slot=0; slot<tableSize; slot++) {
+			int wordIndex = buffer.getInt(tableOffset + 4 * slot);
+			if(wordIndex < -1 || wordIndex >= wordCount || (wordIndex != -1 && ++usedSlots > wordCount)) {
+				throw new IOException("WordSearch index file is corrupt");
+			}
+		}
+
+		ByteBuffer cells = buffer.duplicate();
+		cells.position((int) boardOffset);
+		boggleBoard = new BoggleBoard(numColumns, numRows, cells.slice(), cellWidth == 1);
+	}
+
+	/**
+	 * Checks that a region ending at a given offset lies inside the mapped file.
+	 * @param end The offset just past the region
+	 * @throws IOException If the file ends before end
+	 */
+	private void checkFits(long end) throws IOException {
+		if(end > buffer.capacity()) {
+			throw new IOException("WordSearch index file is truncated");
+		}
+	}
+
+	/**
+	 * Opens an index file by memory mapping it.
+	 * @param path The index file to open
+	 * @return The opened MappedWordIndex
+	 * @throws IOException If the file cannot be read or is not a WordSearch index file
+	 */
+	static MappedWordIndex open(Path path) throws IOException {
+		try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			if(channel.size() > Integer.MAX_VALUE) {
+				throw new IOException("WordSearch index files must be smaller than 2GB");
+			}
+			if(channel.size() < HEADER_BYTES) {
+				throw new IOException("Not a WordSearch index file");
+			}
+			return new MappedWordIndex(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+		}
+	}
+
+	/**
+	 * Writes an index file.
+	 * @param path The file to write
+	 * @param words The words to search for, in order
+	 * @param matches The packed match of each word, or PackedMatch.NONE if the word was not found
+	 * @param boggleBoard The boggle board the words were searched for in
+	 * @throws IOException If the file cannot be written
+	 */
+	static void write(Path path, List<String> words, long[] matches, BoggleBoard boggleBoard) throws IOException {
+		int tableSize = Integer.highestOneBit(Math.max(1, words.size()) * 2 - 1) << 1;
+		int[] table = new int[tableSize];
+		Arrays.fill(table, -1);
+		for(int i=0; i<words.size(); i++) {
+			int slot = hash(words.get(i)) & (tableSize - 1);
+			while(table[slot] != -1 && !words.get(table[slot]).equals(words.get(i))) {
+				slot = (slot + 1) & (tableSize - 1);
+			}
+			if(table[slot] == -1) {
+				table[slot] = i;
+			}
+		}
+
+		int numColumns = boggleBoard.getNumColumns();
+		int numRows = boggleBoard.getNumRows();
+		boolean ascii = boggleBoard.isAscii();
+		try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), 1 << 16))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(numColumns);
+			out.writeInt(numRows);
+			out.writeInt(ascii ? 1 : 2);
+			out.writeInt(words.size());
+			out.writeInt(tableSize);
+			for(String word: words) {
+				out.writeInt(word.length());
+				out.writeChars(word);
+			}
+			for(long match: matches) {
+				out.writeLong(match);
+			}
+			for(int slot: table) {
+				out.writeInt(slot);
+			}
+			for(int i=0; i<numColumns * numRows; i++) {
+				if(ascii) {
+					out.writeByte(boggleBoard.get(i));
+				} else {
+					out.writeChar(boggleBoard.get(i));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Finds the position of a word in the word list of this index.
+	 * @param word The word to find
+	 * @return The index of word in getWords(), or -1 if it is not one of the words to search for
+	 */
+	int indexOf(String word) {
+		int slot = hash(word) & tableMask;
+		while(true) {
+			int wordIndex = buffer.getInt(tableOffset + 4 * slot);
+			if(wordIndex == -1) {
+				return -1;
+			}
+			if(words.get(wordIndex).equals(word)) {
+				return wordIndex;
+			}
+			slot = (slot + 1) & tableMask;
+		}
+	}
+
+	/**
+	 * Gets the packed match of a word in this index.
+	 * @param wordIndex The position of the word in getWords()
+	 * @return The packed match of the word, or PackedMatch.NONE if the word is not on the board
+	 */
+	long getMatch(int wordIndex) {
+		return buffer.getLong(matchesOffset + 8 * wordIndex);
+	}
+
+	/**
+	 * @return The words to search for, in the order they were saved
+	 */
+	List<String> getWords() {
+		return words;
+	}
+
+	/**
+	 * @return The boggle board of this index, read straight from the mapped file
+	 */
+	BoggleBoard getBoggleBoard() {
+		return boggleBoard;
+	}
+
+	private static int hash(String word) {
+		int h = word.hashCode();
+		return h ^ (h >>> 16);
+	}
+}
@@ -0,0 +1,68 @@
+package main.java;
+
+/**
+ * Packs the location of a word found on a boggle board into a single long.
+ * A match is fully described by its start coordinate, the Direction it is read in and its length,
+ * so coordinates only need to be expanded when a match is formatted.
+ * 
+ * Bit layout, from most to least significant: 20 bits start x, 20 bits start y, 4 bits direction
+ * ordinal, 20 bits length. Boards and words may therefore be at most MAX_VALUE cells in each dimension.
+ *
+ * @author Andrew Hayes
+ * @version 1.0
+ */
+final class PackedMatch {
+	static final int MAX_VALUE = (1 << 20) - 1;
+	//stands in for a word that was searched for but not found. Packed matches are never negative.
+	static final long NONE = -1;
+
+	private PackedMatch() {
+	}
+
+	/**
+	 * Packs a match into a long.
+	 * @param x The x coordinate of the first character of the match
+	 * @param y The y coordinate of the first character of the match
+	 * @param direction The Direction the match is read in
+	 * @param length The number of characters in the match
+	 * @return The packed match
+	 */
+	static long pack(int x, int y, Direction direction, int length) {
+		if(x < 0 || x > MAX_VALUE || y < 0 || y > MAX_VALUE || length < 0 || length > MAX_VALUE) {
+			throw new IllegalArgumentException("Match does not fit in a packed match: (" + x + "," + y + "), length " + length);
+		}
+		return ((long) x << 44) | ((long) y << 24) | ((long) direction.ordinal() << 20) | length;
+	}
+
+	/**
+	 * @param match A packed match
+	 * @return The x coordinate of the first character of match
+	 */
+	static int getX(long match) {
+		return (int) (match >>> 44);
+	}
+
+	/**
+	 * @param match A packed match
+	 * @return The y coordinate of the first character of match
+	 */
+	static int getY(long match) {
+		return (int) (match >>> 24) & MAX_VALUE;
+	}
+
+	/**
+	 * @param match A packed match
+	 * @return The Direction match is read in
+	 */
+	static Direction getDirection(long match) {
+		return Direction.of((int) (match >>> 20) & 0xF);
+	}
+
+	/**
+	 * @param match A packed match
+	 * @return The number of characters in match
+	 */
+	static int getLength(long match) {
+		return (int) match & MAX_VALUE;
+	}
+}
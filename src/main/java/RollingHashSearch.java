@@ -0,0 +1,209 @@
+package main.java;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Finds long words on a boggle board with a Rabin-Karp rolling hash. Every row, column and diagonal
+ * is read in its canonical Direction, once for each distinct word length, with a polynomial hash of
+ * the window of that many characters updated in constant time per step. Windows whose hash is in the
+ * table of the words of that length, or of the words spelled backwards, are compared character by
+ * character before being reported, so hash collisions can never produce a wrong match.
+ *
+ * Reading a line costs the same however long the words are, where a WordTrie walk along a repetitive
+ * board, such as a DNA-like board of four letters, reads further the longer the words are.
+ *
+ * @author Andrew Hayes
+ * @version 1.0
+ */
+final class RollingHashSearch {
+	//any odd multiplier works, as hashes are only compared modulo 2^64 and every hit is verified
+	private static final long BASE = 0x9E3779B97F4A7C15L;
+
+	private final BoggleBoard boggleBoard;
+	private final int numColumns;
+	private final int numRows;
+	private final Map<String, Long> map;
+
+	private RollingHashSearch(BoggleBoard boggleBoard, Map<String, Long> map) {
+		this.boggleBoard = boggleBoard;
+		this.numColumns = boggleBoard.getNumColumns();
+		this.numRows = boggleBoard.getNumRows();
+		this.map = map;
+	}
+
+	/**
+	 * Searches a boggle board for a list of words. When a word occurs more than once, whichever
+	 * occurrence a serial search of the whole board would find last is kept.
+	 * @param boggleBoard The boggle board to search
+	 * @param words The words to search for. Empty words are ignored.
+	 * @param map The map to put found words and their packed matches into
+	 */
+	static void search(BoggleBoard boggleBoard, Iterable<String> words, Map<String, Long> map) {
+		TreeMap<Integer, List<String>> wordsByLength = new TreeMap<Integer, List<String>>();
+		Set<String> distinct = new HashSet<String>();
+		for(String word: words) {
+			if(!word.isEmpty() && distinct.add(word)) {
+				List<String> sameLength = wordsByLength.get(word.length());
+				if(sameLength == null) {
+					sameLength = new ArrayList<String>();
+					wordsByLength.put(word.length(), sameLength);
+				}
+				sameLength.add(word);
+			}
+		}
+
+		RollingHashSearch search = new RollingHashSearch(boggleBoard, map);
+		for(List<String> sameLength: wordsByLength.values()) {
+			search.searchLength(new HashTable(sameLength));
+		}
+	}
+
+	/**
+	 * Reads every line of the board with a window the length of the words in a HashTable.
+	 * @param table The words of one length
+	 */
+	private void searchLength(HashTable table) {
+		int length = table.getLength();
+		long power = 1;
+		for(int i=1; i<length; i++) {
+			power *= BASE;
+		}
+		long highestPower = power;
+
+		for(Direction direction: Direction.LINES) {
+			int dx = direction.getDx();
+			int dy = direction.getDy();
+			int stride = dy * numColumns + dx;
+			direction.forEachLine(numColumns, numRows, (x, y, lineLength) -> {
+				if(lineLength < length) {
+					return;
+				}
+
+				int first = y * numColumns + x;
+				long hash = 0;
+				for(int i=0, index=first; i<length; i++, index+=stride) {
+					hash = hash * BASE + boggleBoard.get(index);
+				}
+				for(int offset=0; ; offset++) {
+					int start = first + offset * stride;
+					for(int pattern=table.find(hash); pattern!=-1; pattern=table.nextWithHash(pattern)) {
+						if(matches(table.getCharacters(pattern), start, stride)) {
+							report(table, pattern, x + offset * dx, y + offset * dy, direction);
+						}
+					}
+					if(offset + length == lineLength) {
+						break;
+					}
+					hash = (hash - boggleBoard.get(start) * highestPower) * BASE + boggleBoard.get(start + length * stride);
+				}
+			});
+		}
+	}
+
+	private boolean matches(char[] characters, int start, int stride) {
+		for(int i=0, index=start; i<characters.length; i++, index+=stride) {
+			if(boggleBoard.get(index) != characters[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private void report(HashTable table, int pattern, int x, int y, Direction direction) {
+		String word = table.getWord(pattern);
+		int length = word.length();
+		long match;
+		if(table.isReversed(pattern)) {
+			match = PackedMatch.pack(x + (length - 1) * direction.getDx(), y + (length - 1) * direction.getDy(),
+					direction.reverse(), length);
+		} else {
+			match = PackedMatch.pack(x, y, direction, length);
+		}
+		map.merge(word, match, WordSearch::lastMatch);
+	}
+
+	private static long hash(char[] characters) {
+		long hash = 0;
+		for(char c: characters) {
+			hash = hash * BASE + c;
+		}
+		return hash;
+	}
+
+	/**
+	 * An open addressing table from hash to the words of one length, each in both spellings.
+	 * Patterns 2i and 2i + 1 are word i spelled forwards and backwards, and patterns sharing a hash
+	 * are chained together.
+	 */
+	private static final class HashTable {
+		private final int length;
+		private final List<String> words;
+		private final char[][] characters;
+		private final long[] keys;
+		private final int[] heads;
+		private final int[] next;
+
+		/**
+		 * @param words The words of the table, which must all be the same length and distinct
+		 */
+		HashTable(List<String> words) {
+			this.length = words.get(0).length();
+			this.words = words;
+			characters = new char[2 * words.size()][];
+			next = new int[characters.length];
+			int capacity = Integer.highestOneBit(characters.length * 2 - 1) << 1;
+			keys = new long[capacity];
+			heads = new int[capacity];
+			Arrays.fill(heads, -1);
+			for(int pattern=0; pattern<characters.length; pattern++) {
+				String word = words.get(pattern >> 1);
+				characters[pattern] = (pattern & 1) == 0 ? word.toCharArray()
+						: new StringBuilder(word).reverse().toString().toCharArray();
+				long key = hash(characters[pattern]);
+				int slot = slot(key);
+				next[pattern] = heads[slot];
+				keys[slot] = key;
+				heads[slot] = pattern;
+			}
+		}
+
+		int getLength() {
+			return length;
+		}
+
+		int find(long key) {
+			return heads[slot(key)];
+		}
+
+		int nextWithHash(int pattern) {
+			return next[pattern];
+		}
+
+		char[] getCharacters(int pattern) {
+			return characters[pattern];
+		}
+
+		String getWord(int pattern) {
+			return words.get(pattern >> 1);
+		}
+
+		boolean isReversed(int pattern) {
+			return (pattern & 1) == 1;
+		}
+
+		private int slot(long key) {
+			int mask = keys.length - 1;
+			int slot = (int) ((key * BASE) >>> 32) & mask;
+			while(heads[slot] != -1 && keys[slot] != key) {
+				slot = (slot + 1) & mask;
+			}
+			return slot;
+		}
+	}
+}
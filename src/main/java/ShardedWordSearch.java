@@ -0,0 +1,214 @@
+package main.java;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * This class is to be used in searching boggle boards too large for one JVM heap, by splitting the
+ * board into horizontal bands and searching each band in a worker JVM of its own.
+ *
+ * The board file is streamed twice and never held in memory: once to count its rows, and once to
+ * pass each row to the workers whose bands contain it. Each band overlaps the next by (longest word
+ * - 1) rows, so every match lies wholly inside the band owning its first row, and is found by that
+ * worker. Workers are started on the local machine, with the same java executable and class path
+ * as the coordinator, and talk to it over their standard input and output. Matches are merged with
+ * the same last occurrence rule as WordSearch, so the result is identical to that of
+ * WordSearch.findWordsToSearchFor on the whole board.
+ *
+ * Worker protocol: the coordinator writes the band's first row number and an estimate of the band's
+ * size in characters, then the words line and the band's rows as they appear in the file, and
+ * closes the stream. The worker replies with one line of "wordIndex packedMatch" per word found,
+ * in whole board coordinates, and exits.
+ *
+ * @author Andrew Hayes
+ * @version 1.0
+ */
+public final class ShardedWordSearch {
+	private static final String WORKER_ARGUMENT = "--worker";
+
+	private final int numShards;
+	private final List<String> jvmOptions;
+
+	/**
+	 * Constructs a new ShardedWordSearch.
+	 * @param numShards The number of bands, and so worker JVMs, to split each board into
+	 * @param jvmOptions Options to start every worker JVM with, such as "-Xmx8g"
+	 */
+	public ShardedWordSearch(int numShards, List<String> jvmOptions) {
+		if(numShards < 1) {
+			throw new IllegalArgumentException("numShards must be at least 1");
+		}
+		this.numShards = numShards;
+		this.jvmOptions = new ArrayList<String>(jvmOptions);
+	}
+
+	/**
+	 * Finds all words to search for in a WordSearch file, searching it in bands on worker JVMs.
+	 * @param path The file path containing WordSearch data
+	 * @return A formatted String of found words and their coordinates, the same as
+	 *         WordSearch.findWordsToSearchFor would return for the file
+	 * @throws IOException If the file cannot be read or is incorrectly formatted, or a worker fails
+	 * @throws InterruptedException If interrupted while waiting for a worker
+	 */
+	public String findWordsToSearchFor(String path) throws IOException, InterruptedException {
+		Path file = Paths.get(path);
+		String wordsLine;
+		int numRows = 0;
+		long rowLength = 0;
+		try(BufferedReader reader = Files.newBufferedReader(file, Charset.defaultCharset())) {
+			wordsLine = reader.readLine();
+			if(wordsLine == null) {
+				throw new IOException("File must be at least two lines long!");
+			}
+			int blankLines = 0;
+			for(String line=reader.readLine(); line!=null; line=reader.readLine()) {
+				if(line.isEmpty()) {
+					blankLines++;
+				} else if(blankLines > 0) {
+					throw new IOException("WordSearch matrix is incorrectly formatted! Blank line before row " + (numRows + 1));
+				} else {
+					rowLength = Math.max(rowLength, line.length() + 1);
+					numRows++;
+				}
+			}
+		}
+		if(numRows == 0) {
+			throw new IOException("File must be at least two lines long!");
+		}
+
+		//mirror the words line parsing of BoggleBoardLoader, which mirrors String.split
+		List<String> words = Arrays.asList(wordsLine.split(",", -1));
+		int numWords = words.size();
+		while(numWords > 1 && words.get(numWords - 1).isEmpty()) {
+			numWords--;
+		}
+		words = words.subList(0, numWords);
+		int overlap = 0;
+		for(String word: words) {
+			overlap = Math.max(overlap, word.length() - 1);
+		}
+
+		int bandRows = (numRows + numShards - 1) / numShards;
+		int numBands = (numRows + bandRows - 1) / bandRows;
+		Process[] workers = new Process[numBands];
+		Writer[] inputs = new Writer[numBands];
+		try {
+			for(int band=0; band<numBands; band++) {
+				workers[band] = startWorker();
+				inputs[band] = new BufferedWriter(new OutputStreamWriter(workers[band].getOutputStream(), Charset.defaultCharset()));
+				long sizeEstimate = wordsLine.length() + 1 + (bandRows + overlap) * rowLength;
+				inputs[band].write((band * bandRows) + " " + sizeEstimate + "\n" + wordsLine + "\n");
+			}
+
+			try(BufferedReader reader = Files.newBufferedReader(file, Charset.defaultCharset())) {
+				reader.readLine();
+				for(int row=0; row<numRows; row++) {
+					String line = reader.readLine();
+					//row belongs to the band owning it, and to the bands before it whose overlap reaches it
+					for(int band=Math.max(0, (row - overlap) / bandRows); band<=row/bandRows; band++) {
+						if(row < (band + 1) * bandRows + overlap) {
+							inputs[band].write(line);
+							inputs[band].write('\n');
+						}
+					}
+				}
+			}
+			for(Writer input: inputs) {
+				input.close();
+			}
+
+			long[] matches = new long[words.size()];
+			Arrays.fill(matches, PackedMatch.NONE);
+			for(int band=0; band<numBands; band++) {
+				readMatches(workers[band], matches);
+			}
+
+			StringBuilder result = new StringBuilder();
+			for(int i=0; i<words.size(); i++) {
+				if(i > 0) {
+					result.append('\n');
+				}
+				if(matches[i] != PackedMatch.NONE) {
+					new WordMatch(words.get(i), matches[i]).appendTo(result);
+				}
+			}
+			return result.toString();
+		} finally {
+			for(Process worker: workers) {
+				if(worker != null) {
+					worker.destroy();
+				}
+			}
+		}
+	}
+
+	private Process startWorker() throws IOException {
+		List<String> command = new ArrayList<String>();
+		command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+		command.addAll(jvmOptions);
+		command.add("-cp");
+		command.add(System.getProperty("java.class.path"));
+		command.add(ShardedWordSearch.class.getName());
+		command.add(WORKER_ARGUMENT);
+		return new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.INHERIT).start();
+	}
+
+	private static void readMatches(Process worker, long[] matches) throws IOException, InterruptedException {
+		try(BufferedReader output = new BufferedReader(new InputStreamReader(worker.getInputStream(), Charset.defaultCharset()))) {
+			for(String line=output.readLine(); line!=null; line=output.readLine()) {
+				int separator = line.indexOf(' ');
+				int wordIndex = Integer.parseInt(line.substring(0, separator));
+				matches[wordIndex] = Math.max(matches[wordIndex], Long.parseLong(line.substring(separator + 1)));
+			}
+		}
+		if(worker.waitFor() != 0) {
+			throw new IOException("WordSearch worker failed with exit code " + worker.exitValue());
+		}
+	}
+
+	/**
+	 * Runs a worker, which searches the band written to its standard input and writes the matches
+	 * found to its standard output. Only to be started by ShardedWordSearch.
+	 * @param args WORKER_ARGUMENT
+	 */
+	public static void main(String[] args) {
+		if(args.length != 1 || !args[0].equals(WORKER_ARGUMENT)) {
+			System.err.println("Usage: ShardedWordSearch " + WORKER_ARGUMENT + ", started by ShardedWordSearch.findWordsToSearchFor");
+			System.exit(2);
+		}
+		try {
+			BufferedReader input = new BufferedReader(new InputStreamReader(System.in, Charset.defaultCharset()), 1 << 16);
+			String[] header = input.readLine().split(" ");
+			int firstRow = Integer.parseInt(header[0]);
+			WordSearch wordSearch = WordSearch.load(input, Long.parseLong(header[1]), LoadMode.SERIAL, ForkJoinPool.commonPool());
+
+			PrintStream output = new PrintStream(System.out, false, Charset.defaultCharset().name());
+			List<String> words = wordSearch.getWordsToSearchFor();
+			for(int i=0; i<words.size(); i++) {
+				long match = wordSearch.findPackedMatch(words.get(i));
+				if(match != PackedMatch.NONE) {
+					output.println(i + " " + PackedMatch.pack(PackedMatch.getX(match), PackedMatch.getY(match) + firstRow,
+							PackedMatch.getDirection(match), PackedMatch.getLength(match)));
+				}
+			}
+			output.flush();
+		} catch(IOException | InterruptedException | ExecutionException | RuntimeException e) {
+			e.printStackTrace();
+			System.exit(1);
+		}
+	}
+}
@@ -0,0 +1,236 @@
+package main.java;
+
+import java.util.Arrays;
+
+/**
+ * A suffix array over every row, column and diagonal of a boggle board, for finding words that were
+ * not known when the board was loaded without searching the whole board for each of them.
+ *
+ * Each line is read once, in the canonical Direction of its kind (HORIZONTAL, VERTICAL,
+ * DIAGONAL_ASCENDING or DIAGONAL_DESCENDING), and the lines are concatenated into one text with a
+ * separator after each. A word read in a reverse Direction is found by looking up the word spelled
+ * backwards, just as WordSearch does with its reverse trie. A lookup binary searches the suffix
+ * array for each end of the range of suffixes starting with the word, so it costs O(|word| log n)
+ * plus a binary search of the line starts per occurrence, and the index uses a char and an int per
+ * cell of each line, which is linear in the size of the board.
+ *
+ * The index is a snapshot of the board it was built from, and must be rebuilt after the board changes.
+ *
+ * @author Andrew Hayes
+ * @version 1.0
+ */
+final class SubstringIndex {
+	private final int numColumns;
+	//text holds every line followed by a separator, which separators marks, as it may be any char
+	private final char[] text;
+	private final boolean[] separators;
+	private final int[] suffixArray;
+	//line i starts at text index lineStarts[i], on cell (lineX[i], lineY[i]), and runs in lineDirections[i]
+	private final int[] lineStarts;
+	private final int[] lineX;
+	private final int[] lineY;
+	private final Direction[] lineDirections;
+
+	/**
+	 * Builds the index of every line of a boggle board.
+	 * @param boggleBoard The boggle board to index
+	 */
+	SubstringIndex(BoggleBoard boggleBoard) {
+		numColumns = boggleBoard.getNumColumns();
+		int numRows = boggleBoard.getNumRows();
+		int numLines = numRows + numColumns + 2 * (numColumns + numRows - 1);
+		int length = 4 * numColumns * numRows + numLines;
+		text = new char[length];
+		separators = new boolean[length];
+		lineStarts = new int[numLines];
+		lineX = new int[numLines];
+		lineY = new int[numLines];
+		lineDirections = new Direction[numLines];
+
+		//the next line to add and the text index it starts at
+		int[] next = new int[2];
+		for(Direction direction: Direction.LINES) {
+			int stride = direction.getDy() * numColumns + direction.getDx();
+			direction.forEachLine(numColumns, numRows, (x, y, lineLength) -> {
+				int line = next[0]++;
+				int position = next[1];
+				lineStarts[line] = position;
+				lineX[line] = x;
+				lineY[line] = y;
+				lineDirections[line] = direction;
+				for(int i=0, index=y*numColumns+x; i<lineLength; i++, index+=stride) {
+					text[position++] = boggleBoard.get(index);
+				}
+				separators[position++] = true;
+				next[1] = position;
+			});
+		}
+
+		suffixArray = buildSuffixArray(text, separators);
+	}
+
+	/**
+	 * Finds the occurrence of a word that a serial search of the whole board would find last.
+	 * @param word The word to find
+	 * @return The packed match of word, or PackedMatch.NONE if it is not on the board
+	 */
+	long find(String word) {
+		if(word.isEmpty()) {
+			return PackedMatch.NONE;
+		}
+		long match = PackedMatch.NONE;
+		char[] forwards = word.toCharArray();
+		char[] backwards = new StringBuilder(word).reverse().toString().toCharArray();
+		for(int i=lowerBound(forwards, false), end=lowerBound(forwards, true); i<end; i++) {
+			match = Math.max(match, toMatch(suffixArray[i], forwards.length, false));
+		}
+		for(int i=lowerBound(backwards, false), end=lowerBound(backwards, true); i<end; i++) {
+			match = Math.max(match, toMatch(suffixArray[i], backwards.length, true));
+		}
+		return match;
+	}
+
+	/**
+	 * Estimates the heap used by this index.
+	 * @return The estimated size of this index in bytes
+	 */
+	long getEstimatedBytes() {
+		return text.length * (2L + 1 + 4) + lineStarts.length * (4L * 3 + 4);
+	}
+
+	/**
+	 * Converts an occurrence in the text back to a packed match on the board.
+	 * @param position The text index the occurrence starts at
+	 * @param length The length of the occurrence
+	 * @param reversed true if the occurrence is a word spelled backwards, which starts at its last cell
+	 * @return The packed match of the occurrence
+	 */
+	private long toMatch(int position, int length, boolean reversed) {
+		int line = Arrays.binarySearch(lineStarts, position);
+		if(line < 0) {
+			line = -line - 2;
+		}
+		Direction direction = lineDirections[line];
+		int offset = position - lineStarts[line] + (reversed ? length - 1 : 0);
+		int x = lineX[line] + offset * direction.getDx();
+		int y = lineY[line] + offset * direction.getDy();
+		return PackedMatch.pack(x, y, reversed ? direction.reverse() : direction, length);
+	}
+
+	/**
+	 * Finds the first suffix, in suffix array order, that does not sort before a word.
+	 * @param word The word to compare suffixes against
+	 * @param prefixIsBefore true to treat suffixes starting with word as sorting before it, which
+	 *                       finds the end rather than the start of the range of suffixes starting with word
+	 * @return The suffix array index of the first such suffix
+	 */
+	private int lowerBound(char[] word, boolean prefixIsBefore) {
+		int low = 0;
+		int high = suffixArray.length;
+		while(low < high) {
+			int mid = (low + high) >>> 1;
+			int comparison = compare(suffixArray[mid], word);
+			if(comparison < 0 || (comparison == 0 && prefixIsBefore)) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Compares the suffix starting at a text index with a word, looking no further than the word's length.
+	 * Separators sort before every char.
+	 * @param position The text index the suffix starts at
+	 * @param word The word to compare with
+	 * @return A negative number, zero or a positive number as the suffix sorts before, starts with or
+	 *         sorts after word
+	 */
+	private int compare(int position, char[] word) {
+		for(int i=0; i<word.length; i++, position++) {
+			if(position == text.length || separators[position]) {
+				return -1;
+			}
+			if(text[position] != word[i]) {
+				return text[position] < word[i] ? -1 : 1;
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Builds a suffix array by prefix doubling, radix sorting the suffixes by their first 2^k
+	 * characters in round k, until every suffix has a rank of its own. Separators all rank below
+	 * every char, so suffixes sharing a prefix without a separator in it are always adjacent.
+	 * @param text The text to index
+	 * @param separators The separator positions in text
+	 * @return The start index of every suffix of text, in sorted order
+	 */
+	private static int[] buildSuffixArray(char[] text, boolean[] separators) {
+		int n = text.length;
+		int[] suffixArray = new int[n];
+		int[] rank = new int[n];
+		int[] next = new int[n];
+		int numRanks = Character.MAX_VALUE + 2;
+		for(int i=0; i<n; i++) {
+			rank[i] = separators[i] ? 0 : text[i] + 1;
+		}
+		int[] counts = new int[Math.max(numRanks, n) + 1];
+		for(int i=0; i<n; i++) {
+			next[i] = i;
+		}
+		countingSort(next, suffixArray, rank, counts, numRanks);
+
+		for(int k=1; ; k<<=1) {
+			//order by second key: suffixes without a second half first, then by the rank of the second half
+			int p = 0;
+			for(int i=n-k; i<n; i++) {
+				if(i >= 0) {
+					next[p++] = i;
+				}
+			}
+			for(int i=0; i<n; i++) {
+				if(suffixArray[i] >= k) {
+					next[p++] = suffixArray[i] - k;
+				}
+			}
+			//then stably by first key
+			countingSort(next, suffixArray, rank, counts, numRanks);
+
+			next[suffixArray[0]] = 0;
+			numRanks = 1;
+			for(int i=1; i<n; i++) {
+				int current = suffixArray[i];
+				int previous = suffixArray[i - 1];
+				if(rank[current] != rank[previous] || secondRank(rank, current + k) != secondRank(rank, previous + k)) {
+					numRanks++;
+				}
+				next[current] = numRanks - 1;
+			}
+			int[] swap = rank;
+			rank = next;
+			next = swap;
+			if(numRanks == n || k >= n) {
+				return suffixArray;
+			}
+		}
+	}
+
+	private static int secondRank(int[] rank, int position) {
+		return position < rank.length ? rank[position] : -1;
+	}
+
+	private static void countingSort(int[] in, int[] out, int[] rank, int[] counts, int numRanks) {
+		Arrays.fill(counts, 0, numRanks + 1, 0);
+		for(int i: in) {
+			counts[rank[i] + 1]++;
+		}
+		for(int r=0; r<numRanks; r++) {
+			counts[r + 1] += counts[r];
+		}
+		for(int i: in) {
+			out[counts[rank[i]]++] = i;
+		}
+	}
+}
@@ -0,0 +1,215 @@
+package main.java;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A dictionary of words compiled into an Aho-Corasick automaton, for finding every dictionary word
+ * on a boggle board with WordSearch.findDictionaryWords. The automaton reads each line of the board
+ * once and reports every word ending at each cell as it goes, so the cost of a search grows with the
+ * size of the board and the number of hits, but not with the size of the dictionary.
+ *
+ * A WordDictionary is immutable once compiled, so one dictionary can be shared by any number of
+ * boards and threads.
+ *
+ * @author Andrew Hayes
+ * @version 1.0
+ */
+public final class WordDictionary {
+	private static final int ROOT = 0;
+	private static final int NONE = -1;
+
+	private final String[] words;
+	//transitions of node n are edgeLabels/edgeTargets[edgeStart[n] .. edgeStart[n + 1]), sorted by label
+	private final int[] edgeStart;
+	private final char[] edgeLabels;
+	private final int[] edgeTargets;
+	//transitions of the root for every char, so the common fall back to the root needs no search
+	private final int[] rootTargets = new int[Character.MAX_VALUE + 1];
+	private final int[] fail;
+	private final int[] wordAt;
+	private final int[] outputLink;
+
+	/**
+	 * Compiles a dictionary from a list of words. Empty and duplicate words are ignored.
+	 * @param dictionary The words of the dictionary
+	 */
+	public WordDictionary(Iterable<String> dictionary) {
+		//build a plain trie first, keyed by (node << 16 | char)
+		Map<Long, Integer> children = new HashMap<Long, Integer>();
+		List<String> wordList = new ArrayList<String>();
+		List<Integer> terminals = new ArrayList<Integer>();
+		Set<Integer> seenTerminals = new HashSet<Integer>();
+		int numNodes = 1;
+		for(String word: dictionary) {
+			if(word.isEmpty()) {
+				continue;
+			}
+			int node = ROOT;
+			for(int i=0; i<word.length(); i++) {
+				long key = ((long) node << 16) | word.charAt(i);
+				Integer child = children.get(key);
+				if(child == null) {
+					child = numNodes++;
+					children.put(key, child);
+				}
+				node = child;
+			}
+			if(seenTerminals.add(node)) {
+				wordList.add(word);
+				terminals.add(node);
+			}
+		}
+
+		words = wordList.toArray(new String[0]);
+		wordAt = new int[numNodes];
+		Arrays.fill(wordAt, NONE);
+		for(int i=0; i<words.length; i++) {
+			wordAt[terminals.get(i)] = i;
+		}
+
+		//flatten the trie into sorted edge arrays
+		long[] edges = new long[children.size()];
+		int e = 0;
+		for(long key: children.keySet()) {
+			edges[e++] = key;
+		}
+		Arrays.sort(edges);
+		edgeStart = new int[numNodes + 1];
+		edgeLabels = new char[edges.length];
+		edgeTargets = new int[edges.length];
+		for(int i=0; i<edges.length; i++) {
+			int parent = (int) (edges[i] >>> 16);
+			edgeLabels[i] = (char) edges[i];
+			edgeTargets[i] = children.get(edges[i]);
+			edgeStart[parent + 1]++;
+		}
+		for(int n=0; n<numNodes; n++) {
+			edgeStart[n + 1] += edgeStart[n];
+		}
+
+		//breadth first, link every node to its longest proper suffix in the trie
+		fail = new int[numNodes];
+		outputLink = new int[numNodes];
+		outputLink[ROOT] = NONE;
+		for(int i=edgeStart[ROOT]; i<edgeStart[ROOT + 1]; i++) {
+			rootTargets[edgeLabels[i]] = edgeTargets[i];
+		}
+		int[] queue = new int[numNodes];
+		int head = 0;
+		int tail = 0;
+		for(int i=edgeStart[ROOT]; i<edgeStart[ROOT + 1]; i++) {
+			int child = edgeTargets[i];
+			fail[child] = ROOT;
+			outputLink[child] = NONE;
+			queue[tail++] = child;
+		}
+		while(head < tail) {
+			int node = queue[head++];
+			for(int i=edgeStart[node]; i<edgeStart[node + 1]; i++) {
+				int child = edgeTargets[i];
+				int suffix = next(fail[node], edgeLabels[i]);
+				fail[child] = suffix;
+				outputLink[child] = wordAt[suffix] != NONE ? suffix : outputLink[suffix];
+				queue[tail++] = child;
+			}
+		}
+	}
+
+	/**
+	 * Loads and compiles a dictionary file, holding one word per line.
+	 * Lines may end with either \n or \r\n, and blank lines are ignored.
+	 * @param path The file path of the dictionary
+	 * @return The compiled WordDictionary
+	 * @throws IOException If the file cannot be read
+	 */
+	public static WordDictionary load(String path) throws IOException {
+		List<String> dictionary = new ArrayList<String>();
+		try(BufferedReader reader = Files.newBufferedReader(Paths.get(path), Charset.defaultCharset())) {
+			String line;
+			while((line = reader.readLine()) != null) {
+				line = line.trim();
+				if(!line.isEmpty()) {
+					dictionary.add(line);
+				}
+			}
+		}
+		return new WordDictionary(dictionary);
+	}
+
+	/**
+	 * @return The number of words in this dictionary
+	 */
+	public int size() {
+		return words.length;
+	}
+
+	/**
+	 * Gets the state reached from a state by reading a character, following failure links as needed.
+	 * @param state The current state
+	 * @param c The character read
+	 * @return The next state
+	 */
+	int next(int state, char c) {
+		while(state != ROOT) {
+			int target = getChild(state, c);
+			if(target != NONE) {
+				return target;
+			}
+			state = fail[state];
+		}
+		return rootTargets[c];
+	}
+
+	/**
+	 * Gets the first state whose word ends at a given state, which is the state itself or one of its suffixes.
+	 * @param state The current state
+	 * @return The first state with a word, or -1 if no word ends here
+	 */
+	int firstOutput(int state) {
+		return wordAt[state] != NONE ? state : outputLink[state];
+	}
+
+	/**
+	 * Gets the next, shorter, state whose word ends at the same position as a state with a word.
+	 * @param outputState A state returned by firstOutput or nextOutput
+	 * @return The next state with a word, or -1 if there are no more
+	 */
+	int nextOutput(int outputState) {
+		return outputLink[outputState];
+	}
+
+	/**
+	 * @param outputState A state returned by firstOutput or nextOutput
+	 * @return The word ending at outputState
+	 */
+	String getWord(int outputState) {
+		return words[wordAt[outputState]];
+	}
+
+	private int getChild(int node, char c) {
+		int low = edgeStart[node];
+		int high = edgeStart[node + 1] - 1;
+		while(low <= high) {
+			int mid = (low + high) >>> 1;
+			if(edgeLabels[mid] < c) {
+				low = mid + 1;
+			} else if(edgeLabels[mid] > c) {
+				high = mid - 1;
+			} else {
+				return edgeTargets[mid];
+			}
+		}
+		return NONE;
+	}
+}
@@ -0,0 +1,153 @@
+package main.java;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * A word found on a boggle board, along with the coordinates of each of its characters.
+ * Coordinates are computed on demand from the start of the match and the direction it is read in,
+ * so a WordMatch is the same small size however long its word is.
+ *
+ * @author Andrew Hayes
+ * @version 1.0
+ */
+public final class WordMatch {
+	private final String word;
+	private final long match;
+	private final int mismatches;
+
+	/**
+	 * @param word The word that was found
+	 * @param match The packed match of word
+	 */
+	WordMatch(String word, long match) {
+		this(word, match, 0);
+	}
+
+	/**
+	 * @param word The characters that were found
+	 * @param match The packed match of word
+	 * @param mismatches The number of characters word differs from the pattern searched for in
+	 */
+	WordMatch(String word, long match, int mismatches) {
+		this.word = word;
+		this.match = match;
+		this.mismatches = mismatches;
+	}
+
+	/**
+	 * @return The word that was found
+	 */
+	public String getWord() {
+		return word;
+	}
+
+	/**
+	 * @return The number of characters the word differs from the pattern searched for in, which is
+	 *         always 0 for exact matches such as those of WordSearch.findWordMatch
+	 */
+	public int getMismatches() {
+		return mismatches;
+	}
+
+	/**
+	 * @return The number of characters, and so coordinates, in this match
+	 */
+	public int getLength() {
+		return PackedMatch.getLength(match);
+	}
+
+	/**
+	 * Gets the x coordinate of a character of this match.
+	 * @param i The position of the character in the word, from 0 to getLength() - 1
+	 * @return The x coordinate of character i
+	 */
+	public int getX(int i) {
+		return PackedMatch.getX(match) + i * PackedMatch.getDirection(match).getDx();
+	}
+
+	/**
+	 * Gets the y coordinate of a character of this match.
+	 * @param i The position of the character in the word, from 0 to getLength() - 1
+	 * @return The y coordinate of character i
+	 */
+	public int getY(int i) {
+		return PackedMatch.getY(match) + i * PackedMatch.getDirection(match).getDy();
+	}
+
+	/**
+	 * Gets every coordinate of this match as a flat array of x, y pairs.
+	 * @return An array of length 2 * getLength(), holding x0, y0, x1, y1 and so on
+	 */
+	public int[] getCoordinates() {
+		int[] coordinates = new int[2 * getLength()];
+		for(int i=0; i<getLength(); i++) {
+			coordinates[2 * i] = getX(i);
+			coordinates[2 * i + 1] = getY(i);
+		}
+		return coordinates;
+	}
+
+	/**
+	 * @return The packed match of this match
+	 */
+	long getPackedMatch() {
+		return match;
+	}
+
+	/**
+	 * Writes this match in the format used by WordSearch.findWord, such as "NED: (6,12),(7,11),(8,10)".
+	 * @param out The Appendable to write to
+	 * @throws IOException If out cannot be written to
+	 */
+	public void appendTo(Appendable out) throws IOException {
+		Direction direction = PackedMatch.getDirection(match);
+		int x = PackedMatch.getX(match);
+		int y = PackedMatch.getY(match);
+
+		out.append(word).append(": ");
+		for(int i=0; i<getLength(); i++) {
+			if(i > 0) {
+				out.append(',');
+			}
+			out.append('(');
+			appendInt(out, x);
+			out.append(',');
+			appendInt(out, y);
+			out.append(')');
+			x += direction.getDx();
+			y += direction.getDy();
+		}
+	}
+
+	/**
+	 * Appends a non negative int without creating a String for it.
+	 */
+	private static void appendInt(Appendable out, int value) throws IOException {
+		if(out instanceof StringBuilder) {
+			((StringBuilder) out).append(value);
+			return;
+		}
+		int divisor = 1;
+		while(divisor <= value / 10) {
+			divisor *= 10;
+		}
+		for(; divisor>0; divisor/=10) {
+			out.append((char) ('0' + value / divisor % 10));
+		}
+	}
+
+	/**
+	 * @return This match in the format used by WordSearch.findWord
+	 */
+	@Override
+	public String toString() {
+		StringBuilder result = new StringBuilder();
+		try {
+			appendTo(result);
+		} catch(IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return result.toString();
+	}
+}
@@ -1,41 +1,74 @@
 package main.java;
 
 import java.io.IOException;
-import java.nio.charset.Charset;
-import java.nio.file.Files;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ForkJoinPool;
-import java.util.stream.IntStream;
-
-import org.apache.commons.lang3.tuple.Pair;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 /**
  * This class is to be used in finding a given set of words inside of a boggle board.
  * All constructors take a file path. This path should contain a csv file, where the first row
  * contains all words to search for in a boggle board. All successive rows should make up a 
- * NxN matrix of characters, representing the boggle board.
+ * MxN matrix of characters, representing the boggle board.
  * 
  * Parallel loading can optionally be chosen, by passing true as the second parameter to the 
- * WordSearch constructor. Be warned that parallel loading will likely result in a performance drop
- * compared to serial loading if dealing with small matrices.
+ * WordSearch constructor. Parallel loading splits the boggle board into tiles that are searched
+ * independently on a fork/join pool. Be warned that parallel loading will likely result in a
+ * performance drop compared to serial loading if dealing with small matrices. Passing
+ * LoadMode.AUTO instead leaves the choice to the WordSearch, which loads in parallel only when the
+ * board is large enough and the pool has threads to spare.
  * 
  * @author Andrew Hayes
  * @version 1.0
  */
 public class WordSearch {
-	private ArrayList<ArrayList<Character>> boggleBoard = new ArrayList<ArrayList<Character>>();
+	private static final Direction[] DIRECTIONS = Direction.values();
+	//the fewest start coordinates a TileSearch is split down to
+	private static final int TILE_AREA = 64 * 64;
+	//the number of tiles a parallel load aims to give each thread of its pool, so uneven tiles even out
+	private static final int TILES_PER_THREAD = 4;
+	//the number of candidate lines below which LoadMode.AUTO loads serially, as forking costs more than it saves
+	private static final long PARALLEL_MIN_LINES = 1 << 15;
+	//the fewest cells of newly parsed rows that loadAsync searches in one batch
+	private static final int ROW_BATCH_AREA = 1 << 16;
+	//the shortest length of the words that are found by RollingHashSearch rather than by walking a WordTrie
+	private static final int ROLLING_HASH_MIN_LENGTH = 30;
+	//estimated bytes per wordMap entry: a HashMap node, a boxed Long and a table slot
+	private static final long MAP_ENTRY_BYTES = 32 + 16 + 8;
+	
+	private BoggleBoard boggleBoard;
 	private ArrayList<String> wordsToSearchFor = new ArrayList<String>();
-	//first int in pair is x coordinate, second is y coordinate
-	private Map<String, ArrayList<Pair<Integer, Integer>>> wordMap;
+	//values are matches packed by PackedMatch
+	private Map<String, Long> wordMap;
+	private WordTrie wordTrie;
+	//set instead of wordMap and wordTrie when this WordSearch was opened from an index file
+	private MappedWordIndex mappedIndex;
+	//built on the first search, to prune the start cells a search walks its trie from
+	private LetterBitboards letterBitboards;
+	//set by buildSubstringIndex to answer findWord for words that are not wordsToSearchFor
+	private SubstringIndex substringIndex;
 	private int numColumns;
 	private int numRows;
-	private ForkJoinPool wordSearchPool = new ForkJoinPool();
-	private boolean parallel = false;
+	private final WordSearchStats stats = new WordSearchStats();
+	private final ForkJoinPool wordSearchPool;
+	private final LoadMode loadMode;
 	
 	/**
 	 * Constructs a new WordSearch object. 
@@ -45,25 +78,7 @@ public class WordSearch {
 	 * @param path The file path containing WordSearch data
 	 */
 	public WordSearch(String path) {
-		try {
-			String fileContent = new String(Files.readAllBytes(Paths.get(path)), Charset.defaultCharset());
-			String[] lines = fileContent.split("\n");
-			if(lines.length < 2) {
-				throw new IOException("File must be at least two lines long!");
-			}
-			
-			numRows = lines.length - 1;
-			numColumns = numRows;
-			
-			loadBoggleBoard(lines);
-			loadWordMap();
-		} catch(IOException e) {
-			e.printStackTrace();
-		} catch (InterruptedException e) {
-			e.printStackTrace();
-		} catch (ExecutionException e) {
-			e.printStackTrace();
-		}
+		this(path, false);
 	}
 	
 	/**
@@ -72,24 +87,60 @@ public class WordSearch {
 	 * Uses the file specified at path to create a boggle board and its associated word map. 
 	 * The word map will be a mapping between words and their coordinates on the boggle board.
 	 * The boolean parallel can be specified to dictate whether parallel loading is used for the 
-	 * word map.
+	 * word map. Parallel loading runs on the common ForkJoinPool.
 	 * @param path The file path containing WordSearch data
 	 * @param parallel The boolean specifying whether to use parallel loading
 	 */
 	public WordSearch(String path, boolean parallel) {
-		this.parallel = parallel;
+		this(path, parallel, ForkJoinPool.commonPool());
+	}
+	
+	/**
+	 * Constructs a new WordSearch object. 
+	 * Takes three parameters, a file path as a String, a boolean and a ForkJoinPool.
+	 * Uses the file specified at path to create a boggle board and its associated word map. 
+	 * The word map will be a mapping between words and their coordinates on the boggle board.
+	 * The boolean parallel can be specified to dictate whether parallel loading is used for the 
+	 * word map, in which case the word map is loaded on pool. The pool is not shut down by this
+	 * WordSearch, so one pool can be shared by any number of WordSearch objects.
+	 * @param path The file path containing WordSearch data
+	 * @param parallel The boolean specifying whether to use parallel loading
+	 * @param pool The ForkJoinPool to use for parallel loading
+	 */
+	public WordSearch(String path, boolean parallel, ForkJoinPool pool) {
+		this(path, LoadMode.of(parallel), pool);
+	}
+	
+	/**
+	 * Constructs a new WordSearch object. 
+	 * Takes two parameters, a file path as a String and a LoadMode.
+	 * Uses the file specified at path to create a boggle board and its associated word map. 
+	 * The word map will be a mapping between words and their coordinates on the boggle board.
+	 * The LoadMode decides whether the word map is loaded serially, in parallel on the common
+	 * ForkJoinPool, or whichever of the two suits the board.
+	 * @param path The file path containing WordSearch data
+	 * @param loadMode The LoadMode specifying whether to use parallel loading
+	 */
+	public WordSearch(String path, LoadMode loadMode) {
+		this(path, loadMode, ForkJoinPool.commonPool());
+	}
+	
+	/**
+	 * Constructs a new WordSearch object. 
+	 * Takes three parameters, a file path as a String, a LoadMode and a ForkJoinPool.
+	 * Uses the file specified at path to create a boggle board and its associated word map. 
+	 * The word map will be a mapping between words and their coordinates on the boggle board.
+	 * The LoadMode decides whether the word map is loaded serially, in parallel on pool, or whichever
+	 * of the two suits the board and the parallelism of pool. The pool is not shut down by this
+	 * WordSearch.
+	 * @param path The file path containing WordSearch data
+	 * @param loadMode The LoadMode specifying whether to use parallel loading
+	 * @param pool The ForkJoinPool to use for parallel loading
+	 */
+	public WordSearch(String path, LoadMode loadMode, ForkJoinPool pool) {
+		this(loadMode, pool);
 		try {
-			String fileContent = new String(Files.readAllBytes(Paths.get(path)), Charset.defaultCharset());
-			String[] lines = fileContent.split("\n");
-			if(lines.length < 2) {
-				throw new IOException("File must be at least two lines long!");
-			}
-			
-			numRows = lines.length - 1;
-			numColumns = numRows;
-			
-			loadBoggleBoard(lines);
-			loadWordMap();
+			load(Paths.get(path));
 		} catch(IOException e) {
 			e.printStackTrace();
 		} catch (InterruptedException e) {
@@ -100,248 +151,815 @@ public class WordSearch {
 	}
 	
 	/**
-	 * Loads the contents of a csv file into this WordSearch object. The first line will
-	 * be loaded into wordsToSearchFor, while all successive lines will be loaded into boggleBoard.
-	 * @param lines The lines of a csv file
-	 * @throws IOException
+	 * Constructs a new WordSearch object from a boggle board that is already in memory.
+	 * Takes three parameters, the boggle board as rows of characters, a list of words and a boolean.
+	 * Creates the word map for the boggle board, which will be a mapping between words and their
+	 * coordinates on the boggle board. The boolean parallel can be specified to dictate whether
+	 * parallel loading is used for the word map.
+	 * @param boggleBoard The rows of the boggle board, indexed [y][x]. Every row must be the same length.
+	 * @param wordsToSearchFor The words to search for
+	 * @param parallel The boolean specifying whether to use parallel loading
+	 * @throws IllegalStateException If interrupted while loading in parallel, in which case the
+	 *         interrupt status of the calling thread is set again
+	 */
+	public WordSearch(char[][] boggleBoard, List<String> wordsToSearchFor, boolean parallel) {
+		this(boggleBoard, wordsToSearchFor, LoadMode.of(parallel));
+	}
+	
+	/**
+	 * Constructs a new WordSearch object from a boggle board that is already in memory.
+	 * Takes three parameters, the boggle board as rows of characters, a list of words and a LoadMode.
+	 * Creates the word map for the boggle board, which will be a mapping between words and their
+	 * coordinates on the boggle board. The LoadMode decides whether the word map is loaded serially,
+	 * in parallel on the common ForkJoinPool, or whichever of the two suits the board.
+	 * @param boggleBoard The rows of the boggle board, indexed [y][x]. Every row must be the same length.
+	 * @param wordsToSearchFor The words to search for
+	 * @param loadMode The LoadMode specifying whether to use parallel loading
+	 * @throws IllegalStateException If interrupted while loading in parallel, in which case the
+	 *         interrupt status of the calling thread is set again
 	 */
-	private void loadBoggleBoard(String[] lines) throws IOException {
-		int i = 0;
-		for(String line: lines) {
-			String[] words = line.split(",");
-			if(i > 0 && words.length != numColumns) {
-				throw new IOException("WordSearch matrix is incorrectly formatted! Must be NxN");
+	public WordSearch(char[][] boggleBoard, List<String> wordsToSearchFor, LoadMode loadMode) {
+		this(loadMode, ForkJoinPool.commonPool());
+		long start = System.nanoTime();
+		numRows = boggleBoard.length;
+		numColumns = numRows == 0 ? 0 : boggleBoard[0].length;
+		this.boggleBoard = new BoggleBoard(numColumns, numRows);
+		for(int y=0; y<numRows; y++) {
+			if(boggleBoard[y].length != numColumns) {
+				throw new IllegalArgumentException("WordSearch matrix is incorrectly formatted! All rows must be the same length");
 			}
-			
-			if(i == 0) {
-				for(String word: words) {
-					wordsToSearchFor.add(word);
+			for(int x=0; x<numColumns; x++) {
+				this.boggleBoard.set(x, y, boggleBoard[y][x]);
+			}
+		}
+		this.wordsToSearchFor.addAll(wordsToSearchFor);
+		stats.recordParse(System.nanoTime() - start, this.boggleBoard.getEstimatedBytes());
+		
+		//unlike the file constructors, a failed load is never returned half built
+		try {
+			loadWordMap();
+		} catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while loading the word map", e);
+		} catch(ExecutionException e) {
+			if(e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			} else if(e.getCause() instanceof Error) {
+				throw (Error) e.getCause();
+			}
+			throw new IllegalStateException("Could not load the word map", e.getCause());
+		}
+	}
+	
+	private WordSearch(LoadMode loadMode, ForkJoinPool pool) {
+		this.loadMode = loadMode;
+		this.wordSearchPool = pool;
+	}
+	
+	/**
+	 * Creates a new WordSearch object from a file, reporting any failure to the caller instead of
+	 * printing it.
+	 * @param path The file path containing WordSearch data
+	 * @param loadMode The LoadMode specifying whether to use parallel loading
+	 * @param pool The ForkJoinPool to use for parallel loading
+	 * @return The loaded WordSearch
+	 * @throws IOException If the file cannot be read or is incorrectly formatted
+	 * @throws InterruptedException
+	 * @throws ExecutionException
+	 */
+	static WordSearch load(Path path, LoadMode loadMode, ForkJoinPool pool)
+			throws IOException, InterruptedException, ExecutionException {
+		WordSearch wordSearch = new WordSearch(loadMode, pool);
+		wordSearch.load(path);
+		return wordSearch;
+	}
+	
+	/**
+	 * Creates a new WordSearch object from WordSearch csv data read from a Reader, reporting any
+	 * failure to the caller.
+	 * @param reader The Reader to read WordSearch data from, which is read to its end but not closed
+	 * @param sizeEstimate An estimate of the number of characters to be read
+	 * @param loadMode The LoadMode specifying whether to use parallel loading
+	 * @param pool The ForkJoinPool to use for parallel loading
+	 * @return The loaded WordSearch
+	 * @throws IOException If the data cannot be read or is incorrectly formatted
+	 * @throws InterruptedException
+	 * @throws ExecutionException
+	 */
+	static WordSearch load(Reader reader, long sizeEstimate, LoadMode loadMode, ForkJoinPool pool)
+			throws IOException, InterruptedException, ExecutionException {
+		WordSearch wordSearch = new WordSearch(loadMode, pool);
+		long start = System.nanoTime();
+		wordSearch.load(BoggleBoardLoader.load(reader, sizeEstimate, wordSearch.wordsToSearchFor), start);
+		return wordSearch;
+	}
+	
+	/**
+	 * Loads the boggle board and word map of this WordSearch from a file.
+	 * @param path The file path containing WordSearch data
+	 * @throws IOException If the file cannot be read or is incorrectly formatted
+	 * @throws InterruptedException
+	 * @throws ExecutionException
+	 */
+	private void load(Path path) throws IOException, InterruptedException, ExecutionException {
+		long start = System.nanoTime();
+		load(BoggleBoardLoader.load(path, wordsToSearchFor), start);
+	}
+	
+	/**
+	 * Loads the word map of this WordSearch for a boggle board that has just been parsed.
+	 * @param boggleBoard The parsed boggle board
+	 * @param start The System.nanoTime() at which parsing started
+	 * @throws InterruptedException
+	 * @throws ExecutionException
+	 */
+	private void load(BoggleBoard boggleBoard, long start) throws InterruptedException, ExecutionException {
+		setBoggleBoard(boggleBoard, start);
+		loadWordMap();
+	}
+	
+	/**
+	 * Sets the boggle board of this WordSearch once it has been parsed.
+	 * @param boggleBoard The parsed boggle board
+	 * @param start The System.nanoTime() at which parsing started
+	 */
+	private void setBoggleBoard(BoggleBoard boggleBoard, long start) {
+		this.boggleBoard = boggleBoard;
+		numColumns = boggleBoard.getNumColumns();
+		numRows = boggleBoard.getNumRows();
+		stats.recordParse(System.nanoTime() - start, boggleBoard.getEstimatedBytes());
+	}
+	
+	/**
+	 * Creates a new WordSearch object from a file without blocking the calling thread. Loading is
+	 * pipelined on pool: the file is read and parsed in a single streaming pass, with every read made
+	 * through ForkJoinPool.managedBlock so that pool is not left a thread short while waiting for the
+	 * file. The WordTrie of the words to search for is built on another thread of pool as soon as the
+	 * first line has been parsed, and from then on the board is searched a batch of rows at a time as
+	 * the rows arrive, rather than once the whole file has been read. Rows are searched along their
+	 * horizontal and ascending diagonal lines as soon as they are complete, and along their vertical
+	 * and descending diagonal lines once the rows the longest word could reach below them have
+	 * arrived. Batches run one after another with LoadMode.SERIAL, and at once with LoadMode.PARALLEL,
+	 * or with LoadMode.AUTO when pool has more than one thread. The rows that are left are searched
+	 * once the file has been read, after which the returned future completes.
+	 *
+	 * Words that are at least ROLLING_HASH_MIN_LENGTH long are left to RollingHashSearch once the file
+	 * has been read. When every word is that long, or the board is parsed before the WordTrie is built
+	 * or is too small to fill a batch, the board is instead searched as a whole once the file has been
+	 * read, just as the constructors search it.
+	 * @param path The file path containing WordSearch data
+	 * @param loadMode The LoadMode specifying whether to use parallel loading
+	 * @param pool The ForkJoinPool to load on, which is not shut down by this WordSearch
+	 * @return A CompletableFuture of the loaded WordSearch, completed exceptionally with an
+	 *         IOException if the file cannot be read or is incorrectly formatted
+	 */
+	public static CompletableFuture<WordSearch> loadAsync(String path, LoadMode loadMode, ForkJoinPool pool) {
+		WordSearch wordSearch = new WordSearch(loadMode, pool);
+		CompletableFuture<WordTrie> trie = new CompletableFuture<WordTrie>();
+		RowIndexer indexer = wordSearch.new RowIndexer(trie);
+		CompletableFuture<Void> board = CompletableFuture.runAsync(() -> {
+			long start = System.nanoTime();
+			try {
+				wordSearch.setBoggleBoard(BoggleBoardLoader.load(Paths.get(path), wordSearch.wordsToSearchFor, words -> pool.execute(() -> {
+					try {
+						trie.complete(new WordTrie(words));
+					} catch(RuntimeException | Error e) {
+						trie.completeExceptionally(e);
+					}
+				}), indexer), start);
+			} catch(IOException e) {
+				throw new CompletionException(e);
+			}
+		}, pool);
+		//thenCombine waits for both stages, so a file that fails before its first line is parsed must fail the trie too
+		board.whenComplete((parsed, e) -> {
+			if(e != null) {
+				trie.completeExceptionally(e);
+			}
+		});
+		
+		return board.thenCombine(trie, (parsed, wordTrie) -> wordTrie).thenComposeAsync(indexer::finish, pool);
+	}
+	
+	/**
+	 * Searches the rows of a boggle board while the rest of it is still being parsed, for loadAsync.
+	 * Each batch reads boggleBoard from another thread of wordSearchPool while the loading thread
+	 * keeps writing the rows after it, so the loading thread waits for every batch to finish before
+	 * the storage of boggleBoard is reallocated. Every batch fills a map of its own, or adds to the
+	 * map of the batch before it when batches run one after another, and the maps are merged with
+	 * lastMatch, so the word map is the same as the one a search of the whole board finds.
+	 */
+	private class RowIndexer implements BoggleBoardLoader.RowListener {
+		private final CompletableFuture<WordTrie> trieFuture;
+		private final List<CompletableFuture<Map<String, Long>>> batches = new ArrayList<CompletableFuture<Map<String, Long>>>();
+		//the first row not yet handed to a batch, for each of Direction.LINES
+		private final int[] nextRows = new int[Direction.LINES.length];
+		//set once the WordTrie has been built, if it is searched for a row at a time, to the trie of the
+		//words shorter than ROLLING_HASH_MIN_LENGTH
+		private WordTrie trie;
+		//the words searched for by RollingHashSearch once the whole board has been read
+		private final List<String> longWords = new ArrayList<String>();
+		private boolean parallel;
+		private int batchedRows;
+		private long start;
+		
+		/**
+		 * @param trieFuture The future of the WordTrie of wordsToSearchFor
+		 */
+		RowIndexer(CompletableFuture<WordTrie> trieFuture) {
+			this.trieFuture = trieFuture;
+		}
+		
+		@Override
+		public void rowsLoaded(BoggleBoard boggleBoard, int rows) {
+			if(trie == null) {
+				WordTrie built = trieFuture.getNow(null);
+				if(built == null || built.getShortestWordLength() >= ROLLING_HASH_MIN_LENGTH) {
+					return;
 				}
+				trie = splitLongWords(built, longWords);
+				parallel = loadMode == LoadMode.PARALLEL || (loadMode == LoadMode.AUTO && wordSearchPool.getParallelism() > 1);
+				start = System.nanoTime();
+				WordSearch.this.boggleBoard = boggleBoard;
+				numColumns = boggleBoard.getNumColumns();
+			}
+			if((long) (rows - batchedRows) * numColumns < ROW_BATCH_AREA) {
+				return;
+			}
+			
+			int[] from = nextRows.clone();
+			int longestWordLength = Math.max(1, trie.getLongestWordLength());
+			for(int i=0; i<Direction.LINES.length; i++) {
+				//lines read downwards need the rows the longest word could reach below them
+				int below = Direction.LINES[i].getDy() > 0 ? longestWordLength - 1 : 0;
+				nextRows[i] = Math.max(from[i], rows - below);
+			}
+			int[] to = nextRows.clone();
+			batchedRows = rows;
+			
+			WordTrie batchTrie = trie;
+			Function<Map<String, Long>, Map<String, Long>> search = map -> {
+				searchRows(map, batchTrie, from, to, rows);
+				return map;
+			};
+			CompletableFuture<Map<String, Long>> batch;
+			if(!parallel && !batches.isEmpty()) {
+				batch = batches.remove(0).thenApplyAsync(search, wordSearchPool);
 			} else {
-				ArrayList<Character> characters = new ArrayList<Character>();
-				for(String c: words) {
-					characters.add(c.charAt(0));
+				batch = CompletableFuture.supplyAsync(() -> search.apply(new HashMap<String, Long>()), wordSearchPool);
+			}
+			batches.add(batch);
+		}
+		
+		@Override
+		public void beforeReallocate() {
+			//batches handed out after this only ever see the new storage
+			CompletableFuture.allOf(batches.toArray(new CompletableFuture<?>[batches.size()])).join();
+		}
+		
+		/**
+		 * Loads the word map once boggleBoard has been parsed, searching the rows no batch has.
+		 * @param builtTrie The WordTrie of wordsToSearchFor
+		 * @return A future of the loaded WordSearch
+		 */
+		CompletableFuture<WordSearch> finish(WordTrie builtTrie) {
+			if(batches.isEmpty()) {
+				try {
+					loadWordMap(builtTrie, System.nanoTime());
+				} catch(InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new CompletionException(e);
+				} catch(ExecutionException e) {
+					throw new CompletionException(e.getCause());
 				}
-				boggleBoard.add(characters);
+				return CompletableFuture.completedFuture(WordSearch.this);
 			}
 			
-			i++;
+			return CompletableFuture.allOf(batches.toArray(new CompletableFuture<?>[batches.size()])).thenApply(done -> {
+				Map<String, Long> map = batches.get(0).join();
+				for(int i=1; i<batches.size(); i++) {
+					for(Map.Entry<String, Long> entry: batches.get(i).join().entrySet()) {
+						map.merge(entry.getKey(), entry.getValue(), WordSearch::lastMatch);
+					}
+				}
+				int[] end = new int[Direction.LINES.length];
+				Arrays.fill(end, numRows);
+				searchRows(map, trie, nextRows, end, numRows);
+				RollingHashSearch.search(boggleBoard, longWords, map);
+				wordTrie = builtTrie;
+				wordMap = map;
+				recordIndexBuild(start);
+				return WordSearch.this;
+			});
 		}
 	}
 	
 	/**
-	 * Loads all words that can be formed out of boggleBoard into wordMap.
-	 * Will perform a parallel load if parallel is set to true.
+	 * Loads the coordinates of every one of wordsToSearchFor found in boggleBoard into wordMap.
+	 * Traversals are guided by a WordTrie of wordsToSearchFor, so a traversal stops as soon as the
+	 * letters walked so far do not start any word being searched for.
+	 * Will perform a parallel load if isParallel decides to. Words that are at least
+	 * ROLLING_HASH_MIN_LENGTH long are instead found by reading the board serially with
+	 * RollingHashSearch, whose cost does not grow with the length of the words.
 	 * @throws InterruptedException
 	 * @throws ExecutionException
 	 */
 	private void loadWordMap() throws InterruptedException, ExecutionException {
-		if(parallel) {
-			this.wordMap = new ConcurrentHashMap<String, ArrayList<Pair<Integer, Integer>>>();
-			
-			wordSearchPool.submit(() -> {
-				IntStream.range(0,numRows).parallel().forEach((x) -> {
-					IntStream.range(0, numColumns).parallel().forEach((y) -> {
-						getHorionztalWords(new ArrayList<Pair<Integer, Integer>>(), new StringBuilder(), x, y);
-						getHorionztalReverseWords(new ArrayList<Pair<Integer, Integer>>(), new StringBuilder(), x, y);
-						getVerticalWords(new ArrayList<Pair<Integer, Integer>>(), new StringBuilder(), x, y);
-						getVerticalReverseWords(new ArrayList<Pair<Integer, Integer>>(), new StringBuilder(), x, y);
-						getDiagonalAscendingWords(new ArrayList<Pair<Integer, Integer>>(), new StringBuilder(), x, y);
-						getDiagonalAscendingReverseWords(new ArrayList<Pair<Integer, Integer>>(), new StringBuilder(), x, y);
-						getDiagonalDescendingWords(new ArrayList<Pair<Integer, Integer>>(), new StringBuilder(), x, y);
-						getDiagonalDescendingReverseWords(new ArrayList<Pair<Integer, Integer>>(), new StringBuilder(), x, y);
-					});
-				});
-			}).get(); //wait until wordMap is done being populated
+		long start = System.nanoTime();
+		loadWordMap(new WordTrie(wordsToSearchFor), start);
+	}
+	
+	/**
+	 * Loads the coordinates of every one of wordsToSearchFor found in boggleBoard into wordMap, with a
+	 * WordTrie of wordsToSearchFor that has already been built.
+	 * @param trie The WordTrie of wordsToSearchFor
+	 * @param start The System.nanoTime() at which building the word map started
+	 * @throws InterruptedException
+	 * @throws ExecutionException
+	 */
+	private void loadWordMap(WordTrie trie, long start) throws InterruptedException, ExecutionException {
+		wordTrie = trie;
+		List<String> longWords = new ArrayList<String>();
+		WordTrie shortWordTrie = splitLongWords(trie, longWords);
+		
+		if(shortWordTrie.getLongestWordLength() == 0) {
+			this.wordMap = new HashMap<String, Long>();
 		} else {
-			this.wordMap = new HashMap<String, ArrayList<Pair<Integer, Integer>>>();
-			
-			for(int x=0; x<numRows; x++) {
-				for(int y=0; y<numColumns; y++) {
-					getHorionztalWords(new ArrayList<Pair<Integer, Integer>>(), new StringBuilder(), x, y);
-					getHorionztalReverseWords(new ArrayList<Pair<Integer, Integer>>(), new StringBuilder(), x, y);
-					getVerticalWords(new ArrayList<Pair<Integer, Integer>>(), new StringBuilder(), x, y);
-					getVerticalReverseWords(new ArrayList<Pair<Integer, Integer>>(), new StringBuilder(), x, y);
-					getDiagonalAscendingWords(new ArrayList<Pair<Integer, Integer>>(), new StringBuilder(), x, y);
-					getDiagonalAscendingReverseWords(new ArrayList<Pair<Integer, Integer>>(), new StringBuilder(), x, y);
-					getDiagonalDescendingWords(new ArrayList<Pair<Integer, Integer>>(), new StringBuilder(), x, y);
-					getDiagonalDescendingReverseWords(new ArrayList<Pair<Integer, Integer>>(), new StringBuilder(), x, y);
-				}
+			long[][] candidates = getCandidates(shortWordTrie);
+			if(isParallel(candidates)) {
+				this.wordMap = wordSearchPool.submit(new TileSearch(shortWordTrie, candidates, getTileArea(), 0, 0, numColumns, numRows)).get();
+			} else {
+				this.wordMap = new HashMap<String, Long>();
+				searchTile(wordMap, shortWordTrie, candidates, 0, 0, numColumns, numRows);
 			}
 		}
+		RollingHashSearch.search(boggleBoard, longWords, wordMap);
+		
+		recordIndexBuild(start);
 	}
 	
 	/**
-	 * Gets all diagonal ascending words that can be formed from a coordinate on this boggleBoard.
-	 * @param lastCoords The ArrayList of coordinates that were used for the previous recursive call.
-	 * Should be an empty ArrayList for first call.
-	 * @param currentWord The StringBuilder containing the word that was formed for the previous recursive call.
-	 * Should be an empty StringBuilder for first call.
-	 * @param x The x coordinate to check.
-	 * @param y The y coordinate to check.
+	 * Splits wordsToSearchFor into the words found by walking a WordTrie and the words at least
+	 * ROLLING_HASH_MIN_LENGTH long, which are found by RollingHashSearch.
+	 * @param trie The WordTrie of wordsToSearchFor
+	 * @param longWords The list to add the words at least ROLLING_HASH_MIN_LENGTH long to
+	 * @return The WordTrie of the rest of wordsToSearchFor, which is trie itself when there are no long words
 	 */
-	private void getDiagonalAscendingWords(ArrayList<Pair<Integer, Integer>> lastCoords,
-			StringBuilder currentWord, int x, int y) {
-		if(y < 0 || x >= numColumns) {
-			return;
+	private WordTrie splitLongWords(WordTrie trie, List<String> longWords) {
+		if(trie.getLongestWordLength() < ROLLING_HASH_MIN_LENGTH) {
+			return trie;
 		}
-
-		lastCoords = addEntryToMap(lastCoords, currentWord, x, y);
-		getDiagonalAscendingWords(lastCoords, currentWord, x+1, y-1);
+		List<String> shortWords = new ArrayList<String>();
+		for(String word: wordsToSearchFor) {
+			if(word.length() >= ROLLING_HASH_MIN_LENGTH) {
+				longWords.add(word);
+			} else {
+				shortWords.add(word);
+			}
+		}
+		return new WordTrie(shortWords);
+	}
+	
+	/**
+	 * Records the time taken to build wordMap, and the estimated heap used by it and its indexes.
+	 * @param start The System.nanoTime() at which building the word map started
+	 */
+	private void recordIndexBuild(long start) {
+		stats.recordIndexBuild(System.nanoTime() - start, wordMap.size(), getEstimatedIndexBytes());
+	}
+	
+	/**
+	 * Records the current size of wordMap and its indexes, after wordMap has been changed.
+	 */
+	private void recordIndexSize() {
+		stats.recordIndexSize(wordMap == null ? 0 : wordMap.size(), getEstimatedIndexBytes());
+	}
+	
+	/**
+	 * Estimates the heap used by wordMap and its indexes. Neither wordMap nor wordTrie is counted
+	 * while this WordSearch reads them from a mapped index file.
+	 * @return The estimated size of wordMap and its indexes in bytes
+	 */
+	private long getEstimatedIndexBytes() {
+		return (wordMap == null ? 0 : wordMap.size() * MAP_ENTRY_BYTES + wordTrie.getEstimatedBytes())
+				+ (letterBitboards == null ? 0 : letterBitboards.getEstimatedBytes())
+				+ (substringIndex == null ? 0 : substringIndex.getEstimatedBytes());
 	}
 	
 	/**
-	 * Gets all diagonal ascending reverse words that can be formed from a coordinate on this boggleBoard.
-	 * @param lastCoords The ArrayList of coordinates that were used for the previous recursive call.
-	 * Should be an empty ArrayList for first call.
-	 * @param currentWord The StringBuilder containing the word that was formed for the previous recursive call.
-	 * Should be an empty StringBuilder for first call.
-	 * @param x The x coordinate to check.
-	 * @param y The y coordinate to check.
+	 * Decides whether to load the word map in parallel, following loadMode. LoadMode.AUTO loads in
+	 * parallel only when wordSearchPool has more than one thread and there are at least
+	 * PARALLEL_MIN_LINES candidate lines to walk.
+	 * @param candidates The candidate start cells for each of Direction.LINES, or null if every cell is a candidate
+	 * @return true if the word map should be loaded by a TileSearch, false if it should be loaded serially
 	 */
-	private void getDiagonalAscendingReverseWords(ArrayList<Pair<Integer, Integer>> lastCoords,
-			StringBuilder currentWord, int x, int y) {
-		if(y >= numRows || x < 0) {
-			return;
+	private boolean isParallel(long[][] candidates) {
+		if(loadMode != LoadMode.AUTO) {
+			return loadMode == LoadMode.PARALLEL;
+		} else if(wordSearchPool.getParallelism() < 2) {
+			return false;
 		}
-
-		lastCoords = addEntryToMap(lastCoords, currentWord, x, y);
-		getDiagonalAscendingReverseWords(lastCoords, currentWord, x-1, y+1);
+		
+		long lines = 0;
+		if(candidates == null) {
+			lines = (long) Direction.LINES.length * numColumns * numRows;
+		} else {
+			for(long[] bitset: candidates) {
+				for(long bits: bitset) {
+					lines += Long.bitCount(bits);
+				}
+			}
+		}
+		return lines >= PARALLEL_MIN_LINES;
+	}
+	
+	/**
+	 * Gets the number of start coordinates a parallel load splits boggleBoard into tiles of, so that
+	 * each thread of wordSearchPool gets about TILES_PER_THREAD tiles. Fewer, larger tiles mean fewer
+	 * tile maps to merge, but tiles are never made smaller than TILE_AREA.
+	 * @return The largest area of a tile that is not split any further
+	 */
+	private long getTileArea() {
+		return Math.max(TILE_AREA, (long) numColumns * numRows / ((long) wordSearchPool.getParallelism() * TILES_PER_THREAD));
+	}
+	
+	/**
+	 * Serially searches boggleBoard for the words in a WordTrie. Only the candidate start cells found
+	 * by getCandidates are walked from, unless there are too many prefixes for them to be worth finding.
+	 * @param map The map to put found words and their packed matches into
+	 * @param trie The WordTrie of words to search for
+	 */
+	private void searchBoard(Map<String, Long> map, WordTrie trie) {
+		searchTile(map, trie, getCandidates(trie), 0, 0, numColumns, numRows);
 	}
 	
 	/**
-	 * Gets all diagonal descending words that can be formed from a coordinate on this boggleBoard.
-	 * @param lastCoords The ArrayList of coordinates that were used for the previous recursive call.
-	 * Should be an empty ArrayList for first call.
-	 * @param currentWord The StringBuilder containing the word that was formed for the previous recursive call.
-	 * Should be an empty StringBuilder for first call.
-	 * @param x The x coordinate to check.
-	 * @param y The y coordinate to check.
+	 * Finds the cells on this boggleBoard that a line in each of Direction.LINES could start a word
+	 * of a WordTrie from, using bitboards of the first two letters of each word. Builds the
+	 * bitboards of boggleBoard the first time it is called.
+	 * @param trie The WordTrie of words to search for
+	 * @return A bitset of candidate start cells for each of Direction.LINES, or null if every cell is a candidate
 	 */
-	private void getDiagonalDescendingWords(ArrayList<Pair<Integer, Integer>> lastCoords,
-			StringBuilder currentWord, int x, int y) {
-		if(y >= numRows || x >= numColumns) {
-			return;
+	private long[][] getCandidates(WordTrie trie) {
+		LetterBitboards bitboards = getLetterBitboards();
+		long[][] candidates = new long[Direction.LINES.length][];
+		for(int i=0; i<Direction.LINES.length; i++) {
+			candidates[i] = bitboards.getCandidates(trie, Direction.LINES[i]);
+			if(candidates[i] == null) {
+				return null;
+			}
 		}
-
-		lastCoords = addEntryToMap(lastCoords, currentWord, x, y);
-		getDiagonalDescendingWords(lastCoords, currentWord, x+1, y+1);
+		return candidates;
 	}
 	
 	/**
-	 * Gets all diagonal descending reverse words that can be formed from a coordinate on this boggleBoard.
-	 * @param lastCoords The ArrayList of coordinates that were used for the previous recursive call.
-	 * Should be an empty ArrayList for first call.
-	 * @param currentWord The StringBuilder containing the word that was formed for the previous recursive call.
-	 * Should be an empty StringBuilder for first call.
-	 * @param x The x coordinate to check.
-	 * @param y The y coordinate to check.
+	 * Gets the bitboards of boggleBoard, building them the first time. Synchronized so that
+	 * concurrent findWord calls, such as those of a WordSearchServer, build them only once.
+	 * @return The LetterBitboards of boggleBoard
 	 */
-	private void getDiagonalDescendingReverseWords(ArrayList<Pair<Integer, Integer>> lastCoords,
-			StringBuilder currentWord, int x, int y) {
-		if(y < 0 || x < 0) {
-			return;
+	private synchronized LetterBitboards getLetterBitboards() {
+		if(letterBitboards == null) {
+			letterBitboards = new LetterBitboards(boggleBoard);
 		}
-
-		lastCoords = addEntryToMap(lastCoords, currentWord, x, y);
-		getDiagonalDescendingReverseWords(lastCoords, currentWord, x-1, y-1);
+		return letterBitboards;
 	}
-
+	
 	/**
-	 * Gets all vertical words that can be formed from a coordinate on this boggleBoard.
-	 * @param lastCoords The ArrayList of coordinates that were used for the previous recursive call.
-	 * Should be an empty ArrayList for first call.
-	 * @param currentWord The StringBuilder containing the word that was formed for the previous recursive call.
-	 * Should be an empty StringBuilder for first call.
-	 * @param x The x coordinate to check.
-	 * @param y The y coordinate to check.
+	 * Searches the lines starting from every coordinate in a rectangular tile of this boggleBoard for
+	 * the words in a WordTrie, reading each line only forwards. Words read backwards along a line are
+	 * found by walking the reverse trie over the same cells, so every line is read once rather than
+	 * once in each direction. Candidate start cells are found 64 at a time from their bitsets.
+	 * @param map The map to put found words and their packed matches into
+	 * @param trie The WordTrie of words to search for
+	 * @param candidates The candidate start cells for each of Direction.LINES, or null to search every line
+	 * @param x The x coordinate of the top left of the tile
+	 * @param y The y coordinate of the top left of the tile
+	 * @param width The number of columns in the tile
+	 * @param height The number of rows in the tile
 	 */
-	private void getVerticalWords(ArrayList<Pair<Integer, Integer>> lastCoords, 
-			StringBuilder currentWord, int x, int y) {
-		if(y >= numRows) {
-			return;
+	private void searchTile(Map<String, Long> map, WordTrie trie, long[][] candidates, int x, int y, int width, int height) {
+		//one direction along each kind of line, the other being found through the reverse trie
+		for(int i=0; i<Direction.LINES.length; i++) {
+			for(int row=y; row<y+height; row++) {
+				int end = row * numColumns + x + width;
+				int index = candidates == null ? end - width : LetterBitboards.nextSetBit(candidates[i], end - width);
+				while(index != -1 && index < end) {
+					char c = boggleBoard.get(index);
+					WordTrie.Node first = trie.getRoot().getChild(c);
+					WordTrie.Node reverseFirst = trie.getReverseRoot().getChild(c);
+					if(first != null || reverseFirst != null) {
+						searchDirection(map, trie, first, reverseFirst, Direction.LINES[i], index - row * numColumns, row);
+					}
+					index = candidates == null ? index + 1 : LetterBitboards.nextSetBit(candidates[i], index + 1);
+				}
+			}
 		}
-
-		lastCoords = addEntryToMap(lastCoords, currentWord, x, y);
-		getVerticalWords(lastCoords, currentWord, x, y+1);
 	}
-
+	
 	/**
-	 * Gets all vertical reverse words that can be formed from a coordinate on this boggleBoard.
-	 * @param lastCoords The ArrayList of coordinates that were used for the previous recursive call.
-	 * Should be an empty ArrayList for first call.
-	 * @param currentWord The StringBuilder containing the word that was formed for the previous recursive call.
-	 * Should be an empty StringBuilder for first call.
-	 * @param x The x coordinate to check.
-	 * @param y The y coordinate to check.
+	 * Searches the lines starting on a range of rows of this boggleBoard in each of Direction.LINES.
+	 * @param map The map to put found words and their packed matches into
+	 * @param trie The WordTrie of words to search for
+	 * @param from The first row to search the lines starting on, for each of Direction.LINES
+	 * @param to The row after the last row to search the lines starting on, for each of Direction.LINES
+	 * @param rows The number of rows of boggleBoard the lines may be read into
 	 */
-	private void getVerticalReverseWords(ArrayList<Pair<Integer, Integer>> lastCoords, 
-			StringBuilder currentWord, int x, int y) {
-		if(y < 0) {
-			return;
+	private void searchRows(Map<String, Long> map, WordTrie trie, int[] from, int[] to, int rows) {
+		for(int i=0; i<Direction.LINES.length; i++) {
+			for(int index=from[i]*numColumns; index<to[i]*numColumns; index++) {
+				char c = boggleBoard.get(index);
+				WordTrie.Node first = trie.getRoot().getChild(c);
+				WordTrie.Node reverseFirst = trie.getReverseRoot().getChild(c);
+				if(first != null || reverseFirst != null) {
+					searchDirection(map, trie, first, reverseFirst, Direction.LINES[i], index % numColumns, index / numColumns, rows);
+				}
+			}
 		}
-
-		lastCoords = addEntryToMap(lastCoords, currentWord, x, y);
-		getVerticalReverseWords(lastCoords, currentWord, x, y-1);
 	}
 	
 	/**
-	 * Gets all horizontal words that can be formed from a coordinate on this boggleBoard.
-	 * @param lastCoords The ArrayList of coordinates that were used for the previous recursive call.
-	 * Should be an empty ArrayList for first call.
-	 * @param currentWord The StringBuilder containing the word that was formed for the previous recursive call.
-	 * Should be an empty StringBuilder for first call.
-	 * @param x The x coordinate to check.
-	 * @param y The y coordinate to check.
+	 * Searches one line starting from a coordinate on this boggleBoard for the words in a WordTrie,
+	 * reading at most as many characters as the longest word in the trie. Lines that run off
+	 * boggleBoard before the shortest word could fit are skipped entirely.
+	 * @param map The map to put found words and their packed matches into
+	 * @param trie The WordTrie of words to search for
+	 * @param first The WordTrie node for the character at the starting coordinate, or null
+	 * @param reverseFirst The reverse WordTrie node for the character at the starting coordinate, or null
+	 * @param direction The Direction to read in
+	 * @param x The x coordinate to start from.
+	 * @param y The y coordinate to start from.
 	 */
-	private void getHorionztalWords(ArrayList<Pair<Integer, Integer>> lastCoords, 
-			StringBuilder currentWord, int x, int y) {
-		if(x >= numColumns) {
-			return;
+	private void searchDirection(Map<String, Long> map, WordTrie trie, WordTrie.Node first, WordTrie.Node reverseFirst,
+			Direction direction, int x, int y) {
+		searchDirection(map, trie, first, reverseFirst, direction, x, y, numRows);
+	}
+	
+	/**
+	 * Searches one line starting from a coordinate on the first rows of this boggleBoard, as
+	 * searchDirection does for the whole of boggleBoard.
+	 * @param map The map to put found words and their packed matches into
+	 * @param trie The WordTrie of words to search for
+	 * @param first The WordTrie node for the character at the starting coordinate, or null
+	 * @param reverseFirst The reverse WordTrie node for the character at the starting coordinate, or null
+	 * @param direction The Direction to read in
+	 * @param x The x coordinate to start from.
+	 * @param y The y coordinate to start from.
+	 * @param rows The number of rows of boggleBoard the line may be read into
+	 */
+	private void searchDirection(Map<String, Long> map, WordTrie trie, WordTrie.Node first, WordTrie.Node reverseFirst,
+			Direction direction, int x, int y, int rows) {
+		int maxLength = Math.min(trie.getLongestWordLength(), direction.getLineLength(x, y, numColumns, rows));
+		if(maxLength >= trie.getShortestWordLength()) {
+			getWords(map, first, reverseFirst, direction, x, y, maxLength);
 		}
-
-		lastCoords = addEntryToMap(lastCoords, currentWord, x, y);
-		getHorionztalWords(lastCoords, currentWord, x+1, y);
 	}
 	
 	/**
-	 * Gets all horizontal reverse words that can be formed from a coordinate on this boggleBoard.
-	 * @param lastCoords The ArrayList of coordinates that were used for the previous recursive call.
-	 * Should be an empty ArrayList for first call.
-	 * @param currentWord The StringBuilder containing the word that was formed for the previous recursive call.
-	 * Should be an empty StringBuilder for first call.
-	 * @param x The x coordinate to check.
-	 * @param y The y coordinate to check.
+	 * Gets all words being searched for that lie on a line starting at a coordinate on this boggleBoard
+	 * and running in a given Direction. Words spelled forwards along the line start at the coordinate,
+	 * while words spelled backwards end there, and are mapped back to the coordinate they start at
+	 * and the reverse Direction. The traversal stops after maxLength characters or as soon as no word
+	 * starts or ends with the characters read so far. When a word is already in the map, whichever
+	 * occurrence a serial search of the whole board would find last is kept.
+	 * @param map The map to put found words and their packed matches into
+	 * @param first The WordTrie node for the character at the starting coordinate, or null
+	 * @param reverseFirst The reverse WordTrie node for the character at the starting coordinate, or null
+	 * @param direction The Direction to read in
+	 * @param x The x coordinate to start from.
+	 * @param y The y coordinate to start from.
+	 * @param maxLength The most characters to read. Must not run past the edge of boggleBoard.
 	 */
-	private void getHorionztalReverseWords(ArrayList<Pair<Integer, Integer>> lastCoords, 
-			StringBuilder currentWord, int x, int y) {
-		if(x < 0) {
-			return;
+	private void getWords(Map<String, Long> map, WordTrie.Node first, WordTrie.Node reverseFirst, Direction direction,
+			int x, int y, int maxLength) {
+		int stride = direction.getDy() * numColumns + direction.getDx();
+		int index = y * numColumns + x;
+		WordTrie.Node node = first;
+		WordTrie.Node reverseNode = reverseFirst;
+		
+		for(int length=1; ; length++) {
+			if(node != null && node.getWord() != null) {
+				map.merge(node.getWord(), PackedMatch.pack(x, y, direction, length), WordSearch::lastMatch);
+			}
+			if(reverseNode != null && reverseNode.getWord() != null) {
+				int endX = x + (length - 1) * direction.getDx();
+				int endY = y + (length - 1) * direction.getDy();
+				map.merge(reverseNode.getWord(), PackedMatch.pack(endX, endY, direction.reverse(), length), WordSearch::lastMatch);
+			}
+			if(length == maxLength) {
+				return;
+			}
+			
+			index += stride;
+			char c = boggleBoard.get(index);
+			if(node != null) {
+				node = node.getChild(c);
+			}
+			if(reverseNode != null) {
+				reverseNode = reverseNode.getChild(c);
+			}
+			if(node == null && reverseNode == null) {
+				return;
+			}
 		}
-
-		lastCoords = addEntryToMap(lastCoords, currentWord, x, y);
-		getHorionztalReverseWords(lastCoords, currentWord, x-1, y);
 	}
 	
 	/**
-	 * Adds a new word to wordMap. To be used along with a recursive getWords() function.
-	 * @param lastCoords The ArrayList of coordinates that was last used to add a word
-	 * @param currentWord The StringBuilder that was last used to add a word 
-	 * @param x The x coordinate of the new character to add
-	 * @param y The y coordinate of the new character to add
-	 * @return A new ArrayList of coordinates representing the newly added word
+	 * Keeps whichever of two packed matches for the same word a serial search would have found last.
+	 * A serial search visits start coordinates by x, then y, then Direction, which is exactly the
+	 * order packed matches of equal length sort in.
+	 * @param first A packed match
+	 * @param second Another packed match for the same word
+	 * @return The packed match to keep
 	 */
-	private ArrayList<Pair<Integer, Integer>> addEntryToMap(ArrayList<Pair<Integer, Integer>> lastCoords, 
-			StringBuilder currentWord, int x, int y) {
-		Character currentChar = boggleBoard.get(y).get(x);
-		currentWord.append(currentChar);
-		String key = new String(currentWord.toString());
+	static Long lastMatch(Long first, Long second) {
+		return Math.max(first, second);
+	}
+	
+	/**
+	 * Searches a rectangular tile of start coordinates on this boggleBoard as a fork/join task.
+	 * Tiles larger than tileArea are split in half along their longer side, so wide strips are
+	 * divided into near square tiles. A tile owns the start coordinates inside it, while traversals
+	 * from them read up to (longest word - 1) cells past its edges. That halo is read straight from
+	 * boggleBoard, so no tile needs its own copy of it, and every word crossing a tile boundary is
+	 * found exactly once, by the tile owning the cell its line traversal starts from. Every tile
+	 * fills a map of its own, so threads never contend on a shared map, and results are merged on
+	 * the way back up with lastMatch, so parallel loading finds the same matches as serial loading.
+	 */
+	private class TileSearch extends RecursiveTask<Map<String, Long>> {
+		private static final long serialVersionUID = 1L;
+		
+		private final WordTrie trie;
+		private final long[][] candidates;
+		private final long tileArea;
+		private final int x;
+		private final int y;
+		private final int width;
+		private final int height;
 		
-		ArrayList<Pair<Integer, Integer>> value = new ArrayList<Pair<Integer, Integer>>(lastCoords);
-		value.add(Pair.of(x, y));
+		/**
+		 * @param trie The WordTrie of words to search for
+		 * @param candidates The candidate start cells for each of Direction.LINES, or null to search every line
+		 * @param tileArea The largest area of a tile that is not split any further
+		 * @param x The x coordinate of the top left of this tile
+		 * @param y The y coordinate of the top left of this tile
+		 * @param width The number of columns in this tile
+		 * @param height The number of rows in this tile
+		 */
+		TileSearch(WordTrie trie, long[][] candidates, long tileArea, int x, int y, int width, int height) {
+			this.trie = trie;
+			this.candidates = candidates;
+			this.tileArea = tileArea;
+			this.x = x;
+			this.y = y;
+			this.width = width;
+			this.height = height;
+		}
 		
-		wordMap.put(key, value);
-		return value;
+		@Override
+		protected Map<String, Long> compute() {
+			if((long) width * height <= tileArea) {
+				Map<String, Long> map = new HashMap<String, Long>();
+				searchTile(map, trie, candidates, x, y, width, height);
+				return map;
+			}
+			
+			TileSearch first;
+			TileSearch second;
+			if(width >= height) {
+				first = new TileSearch(trie, candidates, tileArea, x, y, width / 2, height);
+				second = new TileSearch(trie, candidates, tileArea, x + width / 2, y, width - width / 2, height);
+			} else {
+				first = new TileSearch(trie, candidates, tileArea, x, y, width, height / 2);
+				second = new TileSearch(trie, candidates, tileArea, x, y + height / 2, width, height - height / 2);
+			}
+			
+			second.fork();
+			Map<String, Long> map = first.compute();
+			for(Map.Entry<String, Long> entry: second.join().entrySet()) {
+				map.merge(entry.getKey(), entry.getValue(), WordSearch::lastMatch);
+			}
+			return map;
+		}
+	}
+	
+	/**
+	 * Changes the character at a coordinate on this boggleBoard, updating the word map to match.
+	 * Only the row, column and two diagonals through the changed coordinate are searched again,
+	 * except for words whose current match ran through the changed coordinate, which are searched
+	 * for across the whole board. Must not be called at the same time as any other method of this
+	 * WordSearch.
+	 * @param x The x coordinate to change
+	 * @param y The y coordinate to change
+	 * @param c The new character
+	 */
+	public void setCell(int x, int y, char c) {
+		setCells(new int[] {x}, new int[] {y}, new char[] {c});
+	}
+	
+	/**
+	 * Changes the characters at many coordinates on this boggleBoard, updating the word map to match.
+	 * The i-th change sets coordinate (x[i], y[i]) to c[i]. Only the rows, columns and diagonals
+	 * through the changed coordinates are searched again, except for words whose current match ran
+	 * through a changed coordinate, which are searched for across the whole board. Must not be called
+	 * at the same time as any other method of this WordSearch.
+	 * @param x The x coordinates to change
+	 * @param y The y coordinates to change
+	 * @param c The new characters
+	 */
+	public void setCells(int[] x, int[] y, char[] c) {
+		if(x.length != y.length || x.length != c.length) {
+			throw new IllegalArgumentException("x, y and c must be the same length");
+		}
+		for(int i=0; i<x.length; i++) {
+			if(x[i] < 0 || x[i] >= numColumns || y[i] < 0 || y[i] >= numRows) {
+				throw new IndexOutOfBoundsException("(" + x[i] + "," + y[i] + ") is not on the boggle board");
+			}
+		}
+		if(mappedIndex != null) {
+			loadWordMapFromIndex();
+		}
+		substringIndex = null;
+		
+		int[] changed = new int[x.length];
+		for(int i=0; i<x.length; i++) {
+			if(letterBitboards != null) {
+				letterBitboards.set(y[i] * numColumns + x[i], boggleBoard.get(x[i], y[i]), c[i]);
+			}
+			boggleBoard.set(x[i], y[i], c[i]);
+			changed[i] = y[i] * numColumns + x[i];
+		}
+		Arrays.sort(changed);
+		
+		//words whose match ran through a changed cell may now only occur somewhere else entirely
+		ArrayList<String> invalidated = new ArrayList<String>();
+		for(Iterator<Map.Entry<String, Long>> entries = wordMap.entrySet().iterator(); entries.hasNext();) {
+			Map.Entry<String, Long> entry = entries.next();
+			if(touchesAny(entry.getValue(), changed)) {
+				invalidated.add(entry.getKey());
+				entries.remove();
+			}
+		}
+		
+		//any new match must run through a changed cell, so the line it lies on starts at most longest word - 1 cells before it
+		int longestWordLength = wordTrie.getLongestWordLength();
+		for(int index: changed) {
+			int changedX = index % numColumns;
+			int changedY = index / numColumns;
+			for(Direction direction: Direction.LINES) {
+				for(int k=0; k<longestWordLength; k++) {
+					int startX = changedX - k * direction.getDx();
+					int startY = changedY - k * direction.getDy();
+					if(startX < 0 || startX >= numColumns || startY < 0 || startY >= numRows) {
+						break;
+					}
+					char start = boggleBoard.get(startX, startY);
+					WordTrie.Node first = wordTrie.getRoot().getChild(start);
+					WordTrie.Node reverseFirst = wordTrie.getReverseRoot().getChild(start);
+					if(first != null || reverseFirst != null) {
+						searchDirection(wordMap, wordTrie, first, reverseFirst, direction, startX, startY);
+					}
+				}
+			}
+		}
+		
+		if(!invalidated.isEmpty()) {
+			searchBoard(wordMap, new WordTrie(invalidated));
+		}
+		recordIndexSize();
+	}
+	
+	/**
+	 * Checks whether a packed match runs through any of a set of cells.
+	 * @param match The packed match to check
+	 * @param sortedIndices The row-major indices of the cells to check, in ascending order
+	 * @return true if match covers any of the cells, false otherwise
+	 */
+	private boolean touchesAny(long match, int[] sortedIndices) {
+		Direction direction = PackedMatch.getDirection(match);
+		int stride = direction.getDy() * numColumns + direction.getDx();
+		int index = PackedMatch.getY(match) * numColumns + PackedMatch.getX(match);
+		for(int i=PackedMatch.getLength(match); i>0; i--) {
+			if(Arrays.binarySearch(sortedIndices, index) >= 0) {
+				return true;
+			}
+			index += stride;
+		}
+		return false;
+	}
+	
+	/**
+	 * Copies the word map of a WordSearch opened from an index file onto the heap, so that it can be changed.
+	 */
+	private void loadWordMapFromIndex() {
+		wordTrie = new WordTrie(wordsToSearchFor);
+		wordMap = new HashMap<String, Long>();
+		for(int i=0; i<wordsToSearchFor.size(); i++) {
+			long match = mappedIndex.getMatch(i);
+			if(match != PackedMatch.NONE) {
+				wordMap.put(wordsToSearchFor.get(i), match);
+			}
+		}
+		mappedIndex = null;
 	}
 	
 	/**
@@ -350,16 +968,78 @@ public class WordSearch {
 	 */
 	public String findWordsToSearchFor() {
 		StringBuilder result = new StringBuilder();
-		
-		for(String word: wordsToSearchFor) {
-			result.append(findWord(word));
-			result.append("\n");
+		try {
+			writeWordsToSearchFor(result);
+		} catch(IOException e) {
+			throw new UncheckedIOException(e);
 		}
-		result.deleteCharAt(result.length() - 1);
-		
 		return result.toString();
 	}
 	
+	/**
+	 * Finds all wordsToSearchFor in this boggleBoard and writes them to an Appendable as they are
+	 * found, in the same format as findWordsToSearchFor. Nothing is buffered, so a Writer wrapping an
+	 * OutputStream receives each result as soon as it is formatted.
+	 * @param out The Appendable to write to
+	 * @throws IOException If out cannot be written to
+	 */
+	public void writeWordsToSearchFor(Appendable out) throws IOException {
+		for(int i=0; i<wordsToSearchFor.size(); i++) {
+			if(i > 0) {
+				out.append('\n');
+			}
+			WordMatch match = findWordMatch(wordsToSearchFor.get(i));
+			if(match != null) {
+				match.appendTo(out);
+			}
+		}
+	}
+	
+	/**
+	 * Finds all wordsToSearchFor in this boggleBoard, lazily, as a Stream of WordMatch objects.
+	 * Words are searched for in the order of wordsToSearchFor, and words that are not found are left out.
+	 * @return A Stream of the WordMatch of each word found
+	 */
+	public Stream<WordMatch> streamWordsToSearchFor() {
+		return wordsToSearchFor.stream().map(this::findWordMatch).filter(Objects::nonNull);
+	}
+	
+	/**
+	 * Finds every occurrence of every word of a WordDictionary in this boggleBoard, handing each one
+	 * to onMatch as it is found. Unlike findWordsToSearchFor, every occurrence of a word is reported,
+	 * not just one. Each row, column and diagonal is read once in each direction by the dictionary's
+	 * automaton, so the search takes time proportional to the size of boggleBoard plus the number of
+	 * occurrences, however many words the dictionary holds. Single character words are reported once
+	 * per cell, rather than once per direction.
+	 * @param dictionary The WordDictionary to search for
+	 * @param onMatch The consumer to hand each WordMatch to
+	 */
+	public void findDictionaryWords(WordDictionary dictionary, Consumer<WordMatch> onMatch) {
+		for(Direction direction: DIRECTIONS) {
+			int dx = direction.getDx();
+			int dy = direction.getDy();
+			int stride = dy * numColumns + dx;
+			
+			direction.forEachLine(numColumns, numRows, (x, y, lineLength) -> {
+				int state = 0;
+				int index = y * numColumns + x;
+				for(int position=0; position<lineLength; position++, index+=stride) {
+					state = dictionary.next(state, boggleBoard.get(index));
+					for(int output=dictionary.firstOutput(state); output!=-1; output=dictionary.nextOutput(output)) {
+						String word = dictionary.getWord(output);
+						int length = word.length();
+						if(length == 1 && direction != Direction.HORIZONTAL) {
+							continue;
+						}
+						int startX = x + (position - length + 1) * dx;
+						int startY = y + (position - length + 1) * dy;
+						onMatch.accept(new WordMatch(word, PackedMatch.pack(startX, startY, direction, length)));
+					}
+				}
+			});
+		}
+	}
+	
 	/**
 	 * Gets this boggleBoard as a formatted string.
 	 * @return A formatted string representing this boggleBoard, following csv format
@@ -367,9 +1047,10 @@ public class WordSearch {
 	public String getBoggleBoardString() {
 		StringBuilder result = new StringBuilder();
 		
-		for(ArrayList<Character> line: boggleBoard) {
-			for(Character c: line) {
-				result.append(c + ",");
+		for(int y=0; y<numRows; y++) {
+			for(int x=0; x<numColumns; x++) {
+				result.append(boggleBoard.get(x, y));
+				result.append(',');
 			}
 			result.deleteCharAt(result.length() - 1);
 			result.append('\n');
@@ -402,18 +1083,144 @@ public class WordSearch {
 	 * @return A formatted string containing the results of the word search.
 	 */
 	public String findWord(String word) {
-		StringBuilder result = new StringBuilder();
-		
-		ArrayList<Pair<Integer, Integer>> coords = wordMap.get(word);
-		if(coords != null) {
-			result.append(word + ": ");
-			for(Pair<Integer, Integer> p: coords) {
-				result.append("(" + p.getKey() + "," + p.getValue() + "),");
+		WordMatch match = findWordMatch(word);
+		return match == null ? "" : match.toString();
+	}
+	
+	/**
+	 * Finds a given word in this boggleBoard. 
+	 * Returns the found word and its coordinates as a WordMatch, without formatting them.
+	 * Will return null if no word is found.
+	 * @param word The word to find in this boggleBoard
+	 * @return The WordMatch of word, or null if it is not in this boggleBoard
+	 */
+	public WordMatch findWordMatch(String word) {
+		long start = System.nanoTime();
+		long match = findMatch(word);
+		stats.recordQuery(System.nanoTime() - start, match != PackedMatch.NONE);
+		return match == PackedMatch.NONE ? null : new WordMatch(word, match);
+	}
+	
+	/**
+	 * Finds every occurrence of a pattern in this boggleBoard that differs from it in at most
+	 * maxMismatches characters, in any of the eight directions. A '?' in pattern matches any
+	 * character without counting as a mismatch, so "SC?T" finds both SCOT and SCAT. Every row,
+	 * column and diagonal is read once, with the Bitap algorithm, so the cost grows with the size of
+	 * boggleBoard and maxMismatches rather than with the number of variants of pattern. Unlike
+	 * findWord queries, these are not counted in the query stats of getStats().
+	 * @param pattern The pattern to find, of at most 64 characters
+	 * @param maxMismatches The most characters an occurrence may differ from pattern in, 0 for wildcard matching only
+	 * @return The WordMatch of every occurrence, whose word is the characters read from boggleBoard and
+	 *         whose getMismatches() is the number of them that differ from pattern. Sorted by number of
+	 *         mismatches, then in the order a serial search visits them.
+	 * @throws IllegalArgumentException If pattern is longer than 64 characters or maxMismatches is negative
+	 */
+	public List<WordMatch> findApproximateWord(String pattern, int maxMismatches) {
+		return ApproximateSearch.search(boggleBoard, pattern, maxMismatches);
+	}
+	
+	/**
+	 * Finds a given word in this boggleBoard, looking it up in the word map if it is one of
+	 * wordsToSearchFor and searching boggleBoard for it otherwise.
+	 * @param word The word to find in this boggleBoard
+	 * @return The packed match of word, or PackedMatch.NONE if it is not on this boggleBoard
+	 */
+	private long findMatch(String word) {
+		if(mappedIndex != null) {
+			int wordIndex = mappedIndex.indexOf(word);
+			if(wordIndex != -1) {
+				return mappedIndex.getMatch(wordIndex);
+			}
+		} else {
+			Long match = wordMap.get(word);
+			if(match != null) {
+				return match;
+			} else if(wordTrie.contains(word)) {
+				return PackedMatch.NONE;
 			}
-			result.deleteCharAt(result.length() - 1);
 		}
 		
-		return result.toString();
+		//word was not one of wordsToSearchFor, so it has not been indexed yet
+		if(substringIndex != null) {
+			return substringIndex.find(word);
+		}
+		Map<String, Long> map = new HashMap<String, Long>();
+		searchBoard(map, new WordTrie(Collections.singletonList(word)));
+		Long match = map.get(word);
+		return match == null ? PackedMatch.NONE : match;
+	}
+	
+	/**
+	 * Builds a suffix array over every row, column and diagonal of this boggleBoard, so that findWord
+	 * can find words that are not one of wordsToSearchFor in O(|word| log n) time, rather than by
+	 * searching the whole boggleBoard for each of them. The index uses memory linear in the size of
+	 * boggleBoard, and is dropped whenever a cell is changed, after which it must be built again.
+	 */
+	public void buildSubstringIndex() {
+		substringIndex = new SubstringIndex(boggleBoard);
+		recordIndexSize();
+	}
+	
+	/**
+	 * Finds a given word in this boggleBoard, without formatting or recording the query.
+	 * @param word The word to find in this boggleBoard
+	 * @return The packed match of word, or PackedMatch.NONE if it is not on this boggleBoard
+	 */
+	long findPackedMatch(String word) {
+		return findMatch(word);
+	}
+	
+	/**
+	 * Gets the words to search for, in order.
+	 * @return The list of wordsToSearchFor, which must not be changed
+	 */
+	List<String> getWordsToSearchFor() {
+		return wordsToSearchFor;
+	}
+	
+	/**
+	 * Saves the boggle board and word map of this WordSearch to a binary index file, which
+	 * openIndex can later memory map without parsing the board or searching it again.
+	 * @param path The file path to save the index to
+	 * @throws IOException If the file cannot be written
+	 */
+	public void saveIndex(String path) throws IOException {
+		long[] matches = new long[wordsToSearchFor.size()];
+		for(int i=0; i<matches.length; i++) {
+			matches[i] = findMatch(wordsToSearchFor.get(i));
+		}
+		MappedWordIndex.write(Paths.get(path), wordsToSearchFor, matches, boggleBoard);
+	}
+	
+	/**
+	 * Opens a WordSearch from an index file written by saveIndex. The file is memory mapped, and
+	 * findWord reads the word map and boggle board straight from the mapped file, so opening an index
+	 * takes time proportional to the number of words to search for rather than the size of the board.
+	 * Several processes opening the same index share it through the page cache.
+	 * @param path The file path containing a WordSearch index
+	 * @return The opened WordSearch
+	 * @throws IOException If the file cannot be read or is not a WordSearch index
+	 */
+	public static WordSearch openIndex(String path) throws IOException {
+		long start = System.nanoTime();
+		WordSearch wordSearch = new WordSearch(LoadMode.SERIAL, ForkJoinPool.commonPool());
+		wordSearch.mappedIndex = MappedWordIndex.open(Paths.get(path));
+		wordSearch.boggleBoard = wordSearch.mappedIndex.getBoggleBoard();
+		wordSearch.wordsToSearchFor.addAll(wordSearch.mappedIndex.getWords());
+		wordSearch.numColumns = wordSearch.boggleBoard.getNumColumns();
+		wordSearch.numRows = wordSearch.boggleBoard.getNumRows();
+		wordSearch.stats.recordParse(System.nanoTime() - start, wordSearch.boggleBoard.getEstimatedBytes());
+		return wordSearch;
+	}
+	
+	/**
+	 * Gets the stats of this WordSearch, covering how long it took to load, how large its word map
+	 * is and how its findWord queries have performed so far. The returned object is live, and can be
+	 * registered as a JMX MBean.
+	 * @return The WordSearchStats of this WordSearch
+	 */
+	public WordSearchStats getStats() {
+		return stats;
 	}
 
 	public static void main(String[] args) {
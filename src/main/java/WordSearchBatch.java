@@ -0,0 +1,175 @@
+package main.java;
+
+import java.nio.file.Paths;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * This class is to be used in loading many WordSearch files on one shared ForkJoinPool.
+ * A batch either creates its own pool, which is shut down when the batch is closed, or borrows a
+ * pool from the caller, which is left running. WordSearch objects loaded in parallel mode also run
+ * their parallel loading on the batch's pool, so a batch never starts more threads than its pool has.
+ *
+ * At most maxInFlight files are loaded at once. Results are handed to the caller in the order the
+ * files finish loading, and a new file is only started once an earlier one has been handed over,
+ * so a batch can work through any number of files without holding more than maxInFlight results.
+ *
+ * @author Andrew Hayes
+ * @version 1.0
+ */
+public class WordSearchBatch implements AutoCloseable {
+	private final ForkJoinPool pool;
+	private final boolean ownsPool;
+	private final int maxInFlight;
+	private final LoadMode loadMode;
+
+	/**
+	 * Constructs a new WordSearchBatch with its own ForkJoinPool.
+	 * @param parallelism The number of threads in the pool
+	 * @param maxInFlight The maximum number of files to load at once
+	 * @param parallel The boolean specifying whether each WordSearch uses parallel loading
+	 */
+	public WordSearchBatch(int parallelism, int maxInFlight, boolean parallel) {
+		this(parallelism, maxInFlight, LoadMode.of(parallel));
+	}
+
+	/**
+	 * Constructs a new WordSearchBatch with its own ForkJoinPool.
+	 * @param parallelism The number of threads in the pool
+	 * @param maxInFlight The maximum number of files to load at once
+	 * @param loadMode The LoadMode specifying whether each WordSearch uses parallel loading
+	 */
+	public WordSearchBatch(int parallelism, int maxInFlight, LoadMode loadMode) {
+		this(new ForkJoinPool(parallelism), true, maxInFlight, loadMode);
+	}
+
+	/**
+	 * Constructs a new WordSearchBatch that runs on a pool owned by the caller.
+	 * The pool is not shut down when this batch is closed.
+	 * @param pool The ForkJoinPool to load files on
+	 * @param maxInFlight The maximum number of files to load at once
+	 * @param parallel The boolean specifying whether each WordSearch uses parallel loading
+	 */
+	public WordSearchBatch(ForkJoinPool pool, int maxInFlight, boolean parallel) {
+		this(pool, maxInFlight, LoadMode.of(parallel));
+	}
+
+	/**
+	 * Constructs a new WordSearchBatch that runs on a pool owned by the caller.
+	 * The pool is not shut down when this batch is closed.
+	 * @param pool The ForkJoinPool to load files on
+	 * @param maxInFlight The maximum number of files to load at once
+	 * @param loadMode The LoadMode specifying whether each WordSearch uses parallel loading
+	 */
+	public WordSearchBatch(ForkJoinPool pool, int maxInFlight, LoadMode loadMode) {
+		this(pool, false, maxInFlight, loadMode);
+	}
+
+	private WordSearchBatch(ForkJoinPool pool, boolean ownsPool, int maxInFlight, LoadMode loadMode) {
+		if(maxInFlight < 1) {
+			throw new IllegalArgumentException("maxInFlight must be at least 1");
+		}
+		this.pool = pool;
+		this.ownsPool = ownsPool;
+		this.maxInFlight = maxInFlight;
+		this.loadMode = loadMode;
+	}
+
+	/**
+	 * Loads every file in paths, handing each Result to onResult as soon as its file finishes loading.
+	 * Paths are only read from as capacity frees up, so paths may be lazily generated.
+	 * onResult is always called on the calling thread, and this method returns once every file has
+	 * been handed over.
+	 * @param paths The file paths containing WordSearch data
+	 * @param onResult The consumer to hand each Result to
+	 * @throws InterruptedException If the calling thread is interrupted while waiting for a file to load
+	 */
+	public void search(Iterable<String> paths, Consumer<Result> onResult) throws InterruptedException {
+		ExecutorCompletionService<Result> completionService = new ExecutorCompletionService<Result>(pool);
+		int inFlight = 0;
+
+		for(String path: paths) {
+			if(inFlight == maxInFlight) {
+				onResult.accept(takeResult(completionService));
+				inFlight--;
+			}
+			completionService.submit(() -> loadResult(path));
+			inFlight++;
+		}
+
+		for(; inFlight>0; inFlight--) {
+			onResult.accept(takeResult(completionService));
+		}
+	}
+
+	private Result loadResult(String path) {
+		try {
+			return new Result(path, WordSearch.load(Paths.get(path), loadMode, pool), null);
+		} catch(Exception e) {
+			return new Result(path, null, e);
+		}
+	}
+
+	private static Result takeResult(ExecutorCompletionService<Result> completionService) throws InterruptedException {
+		try {
+			return completionService.take().get();
+		} catch(ExecutionException e) {
+			//loadResult catches everything it can, so only errors reach here
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+
+	/**
+	 * Shuts down this batch's pool if it was created by this batch, waiting for running loads to finish.
+	 */
+	@Override
+	public void close() {
+		if(ownsPool) {
+			pool.shutdown();
+			try {
+				pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+			} catch(InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	/**
+	 * The outcome of loading a single WordSearch file.
+	 */
+	public static final class Result {
+		private final String path;
+		private final WordSearch wordSearch;
+		private final Exception error;
+
+		private Result(String path, WordSearch wordSearch, Exception error) {
+			this.path = path;
+			this.wordSearch = wordSearch;
+			this.error = error;
+		}
+
+		/**
+		 * @return The file path this Result was loaded from
+		 */
+		public String getPath() {
+			return path;
+		}
+
+		/**
+		 * @return The loaded WordSearch, or null if loading failed
+		 */
+		public WordSearch getWordSearch() {
+			return wordSearch;
+		}
+
+		/**
+		 * @return The exception loading failed with, or null if loading succeeded
+		 */
+		public Exception getError() {
+			return error;
+		}
+	}
+}
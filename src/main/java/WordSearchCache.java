@@ -0,0 +1,119 @@
+package main.java;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.FutureTask;
+
+/**
+ * A cache of loaded WordSearch objects, keyed by file path and bounded by their estimated heap use.
+ * When the cache grows past its limit, the least recently used boards are evicted until it fits
+ * again, except for the board just loaded, which is always kept.
+ *
+ * A board that is not cached is loaded by the first thread to ask for it, while any other thread
+ * asking for the same board waits for that load rather than starting its own. Boards are loaded
+ * with LoadMode.AUTO on the pool given to the cache, so only large boards are split across it.
+ *
+ * @author Andrew Hayes
+ * @version 1.0
+ */
+public final class WordSearchCache {
+	private final long maxBytes;
+	private final ForkJoinPool pool;
+	//in least recently used first order
+	private final LinkedHashMap<String, FutureTask<WordSearch>> entries = new LinkedHashMap<String, FutureTask<WordSearch>>(16, 0.75f, true);
+	private final Map<String, Long> entryBytes = new HashMap<String, Long>();
+	private long totalBytes;
+
+	/**
+	 * @param maxBytes The estimated heap the cached boards may use before the least recently used are evicted
+	 * @param pool The ForkJoinPool to load boards on
+	 */
+	public WordSearchCache(long maxBytes, ForkJoinPool pool) {
+		this.maxBytes = maxBytes;
+		this.pool = pool;
+	}
+
+	/**
+	 * Gets the WordSearch of a file, loading it if it is not cached.
+	 * @param path The file path containing WordSearch data
+	 * @return The loaded WordSearch
+	 * @throws IOException If the file cannot be read or is incorrectly formatted
+	 * @throws InterruptedException If interrupted while waiting for the file to load
+	 */
+	public WordSearch get(String path) throws IOException, InterruptedException {
+		FutureTask<WordSearch> task;
+		boolean loader = false;
+		synchronized(this) {
+			task = entries.get(path);
+			if(task == null) {
+				task = new FutureTask<WordSearch>(() -> WordSearch.load(Paths.get(path), LoadMode.AUTO, pool));
+				entries.put(path, task);
+				loader = true;
+			}
+		}
+		if(loader) {
+			task.run();
+		}
+
+		WordSearch wordSearch;
+		try {
+			wordSearch = task.get();
+		} catch(ExecutionException e) {
+			synchronized(this) {
+				entries.remove(path, task);
+			}
+			if(e.getCause() instanceof IOException) {
+				throw (IOException) e.getCause();
+			}
+			throw new IOException("Could not load " + path, e.getCause());
+		}
+
+		if(loader) {
+			synchronized(this) {
+				if(entries.get(path) == task) {
+					long bytes = wordSearch.getStats().getEstimatedBytes();
+					entryBytes.put(path, bytes);
+					totalBytes += bytes;
+					evict(path);
+				}
+			}
+		}
+		return wordSearch;
+	}
+
+	/**
+	 * @return The estimated heap used by the cached boards, in bytes
+	 */
+	public synchronized long getEstimatedBytes() {
+		return totalBytes;
+	}
+
+	/**
+	 * @return The number of boards cached or being loaded
+	 */
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Evicts the least recently used boards until the cache fits in maxBytes, never evicting a board
+	 * that is still being loaded or the board at keep.
+	 */
+	private void evict(String keep) {
+		for(Iterator<Map.Entry<String, FutureTask<WordSearch>>> iterator = entries.entrySet().iterator();
+				iterator.hasNext() && totalBytes > maxBytes;) {
+			Map.Entry<String, FutureTask<WordSearch>> entry = iterator.next();
+			if(entry.getKey().equals(keep) || !entryBytes.containsKey(entry.getKey())) {
+				continue;
+			}
+			totalBytes -= entryBytes.remove(entry.getKey());
+			iterator.remove();
+		}
+	}
+}
@@ -0,0 +1,175 @@
+package main.java;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A resident query server, so that repeated queries against the same boards pay neither for JVM
+ * startup nor for loading a board more than once. Boards are loaded on demand into a WordSearchCache,
+ * bounded by their estimated heap use, and every connection is served on a thread of its own, so any
+ * number of clients can query a few hot boards at once.
+ *
+ * The server listens on the loopback address only. Requests and responses are lines of UTF-8 text,
+ * with the fields of a request separated by tabs:
+ * <pre>
+ * FIND &lt;path&gt; &lt;word&gt; [&lt;word&gt; ...]    finds each word, as WordSearch.findWord would
+ * FINDALL &lt;path&gt;                       finds the words to search for, as WordSearch.findWordsToSearchFor would
+ * QUIT                                 closes the connection
+ * </pre>
+ * A successful response is a line of "OK n" followed by n lines, one per word in request or file
+ * order, which are empty for words that were not found. A failed request is answered with a single
+ * line of "ERROR message". Any number of requests can be sent on one connection.
+ *
+ * @author Andrew Hayes
+ * @version 1.0
+ */
+public class WordSearchServer implements AutoCloseable {
+	private final ServerSocket serverSocket;
+	private final WordSearchCache cache;
+	private final ExecutorService connections = Executors.newCachedThreadPool(runnable -> {
+		Thread thread = new Thread(runnable, "WordSearchServer connection");
+		thread.setDaemon(true);
+		return thread;
+	});
+	private final Set<Socket> openSockets = ConcurrentHashMap.newKeySet();
+	private final Thread acceptor;
+
+	/**
+	 * Starts a new WordSearchServer listening on a loopback port.
+	 * @param port The port to listen on, or 0 for any free port
+	 * @param maxCacheBytes The estimated heap the cached boards may use before the least recently used are evicted
+	 * @throws IOException If the port cannot be listened on
+	 */
+	public WordSearchServer(int port, long maxCacheBytes) throws IOException {
+		serverSocket = new ServerSocket(port, 128, InetAddress.getLoopbackAddress());
+		cache = new WordSearchCache(maxCacheBytes, ForkJoinPool.commonPool());
+		acceptor = new Thread(this::accept, "WordSearchServer acceptor");
+		acceptor.start();
+	}
+
+	/**
+	 * @return The port this server is listening on
+	 */
+	public int getPort() {
+		return serverSocket.getLocalPort();
+	}
+
+	private void accept() {
+		while(!serverSocket.isClosed()) {
+			try {
+				Socket socket = serverSocket.accept();
+				openSockets.add(socket);
+				connections.execute(() -> serve(socket));
+			} catch(SocketException e) {
+				return; //the server socket was closed
+			} catch(IOException e) {
+				e.printStackTrace();
+			}
+		}
+	}
+
+	private void serve(Socket socket) {
+		try(Socket connection = socket;
+				BufferedReader in = new BufferedReader(new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8));
+				Writer out = new BufferedWriter(new OutputStreamWriter(connection.getOutputStream(), StandardCharsets.UTF_8))) {
+			connection.setTcpNoDelay(true);
+			for(String request=in.readLine(); request!=null; request=in.readLine()) {
+				if(request.equals("QUIT")) {
+					return;
+				}
+				try {
+					respond(request.split("\t"), out);
+				} catch(IOException | RuntimeException e) {
+					out.write("ERROR " + String.valueOf(e.getMessage()).replace('\n', ' ') + "\n");
+				} catch(InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+				out.flush();
+			}
+		} catch(IOException e) {
+			//the client went away, or the server was closed
+		} finally {
+			openSockets.remove(socket);
+		}
+	}
+
+	private void respond(String[] fields, Writer out) throws IOException, InterruptedException {
+		if(fields[0].equals("FIND") && fields.length >= 3) {
+			WordSearch wordSearch = cache.get(fields[1]);
+			out.write("OK " + (fields.length - 2) + "\n");
+			for(int i=2; i<fields.length; i++) {
+				WordMatch match = wordSearch.findWordMatch(fields[i]);
+				if(match != null) {
+					match.appendTo(out);
+				}
+				out.write('\n');
+			}
+		} else if(fields[0].equals("FINDALL") && fields.length == 2) {
+			WordSearch wordSearch = cache.get(fields[1]);
+			out.write("OK " + wordSearch.getWordsToSearchFor().size() + "\n");
+			wordSearch.writeWordsToSearchFor(out);
+			out.write('\n');
+		} else {
+			out.write("ERROR Unknown request " + fields[0] + "\n");
+		}
+	}
+
+	/**
+	 * Stops listening and closes every open connection, without waiting for requests in progress.
+	 */
+	@Override
+	public void close() throws IOException {
+		serverSocket.close();
+		try {
+			//once the acceptor has stopped, every accepted socket is in openSockets
+			acceptor.join();
+		} catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		//closing a socket wakes the thread blocked reading from it, which shutdownNow alone cannot do
+		for(Socket socket: openSockets) {
+			try {
+				socket.close();
+			} catch(IOException e) {
+				//the connection is being closed anyway
+			}
+		}
+		connections.shutdownNow();
+		try {
+			connections.awaitTermination(1, TimeUnit.SECONDS);
+		} catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Runs a WordSearchServer until the JVM is stopped.
+	 * @param args The port to listen on, and optionally the cache size in megabytes, 1024 by default
+	 * @throws IOException If the port cannot be listened on
+	 */
+	public static void main(String[] args) throws IOException {
+		if(args.length < 1 || args.length > 2) {
+			System.err.println("Usage: WordSearchServer <port> [cacheMegabytes]");
+			System.exit(2);
+		}
+		long cacheMegabytes = args.length == 2 ? Long.parseLong(args[1]) : 1024;
+		WordSearchServer server = new WordSearchServer(Integer.parseInt(args[0]), cacheMegabytes << 20);
+		System.out.println("WordSearchServer listening on port " + server.getPort());
+	}
+}
@@ -0,0 +1,167 @@
+package main.java;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Timings and sizes recorded while loading a WordSearch, along with counters for its findWord queries.
+ * Load phase values are set by the WordSearch that owns these stats, which updates the index sizes
+ * again whenever it changes its word map. Query counters may be
+ * updated and read from any number of threads at once.
+ * 
+ * Byte counts are estimates of retained heap, assuming a 64 bit JVM with compressed references.
+ * Query latencies are kept in a histogram of power of two buckets, where bucket i counts queries
+ * that took at least 2^i and less than 2^(i+1) nanoseconds.
+ *
+ * @author Andrew Hayes
+ * @version 1.0
+ */
+public class WordSearchStats implements WordSearchStatsMBean {
+	private static final int HISTOGRAM_BUCKETS = 64;
+	
+	private volatile long parseNanos;
+	private volatile long indexBuildNanos;
+	private volatile int indexEntries;
+	private volatile long estimatedBoardBytes;
+	private volatile long estimatedIndexBytes;
+	private final LongAdder queryHitCount = new LongAdder();
+	private final LongAdder queryNanosTotal = new LongAdder();
+	private final AtomicLongArray queryLatencyHistogram = new AtomicLongArray(HISTOGRAM_BUCKETS);
+	
+	void recordParse(long nanos, long estimatedBoardBytes) {
+		this.parseNanos = nanos;
+		this.estimatedBoardBytes = estimatedBoardBytes;
+	}
+	
+	void recordIndexBuild(long nanos, int indexEntries, long estimatedIndexBytes) {
+		this.indexBuildNanos = nanos;
+		recordIndexSize(indexEntries, estimatedIndexBytes);
+	}
+	
+	void recordIndexSize(int indexEntries, long estimatedIndexBytes) {
+		this.indexEntries = indexEntries;
+		this.estimatedIndexBytes = estimatedIndexBytes;
+	}
+	
+	void recordQuery(long nanos, boolean hit) {
+		if(hit) {
+			queryHitCount.increment();
+		}
+		queryNanosTotal.add(nanos);
+		queryLatencyHistogram.incrementAndGet(63 - Long.numberOfLeadingZeros(Math.max(nanos, 1)));
+	}
+	
+	/**
+	 * @return The time taken to read and parse the boggle board, in nanoseconds
+	 */
+	@Override
+	public long getParseNanos() {
+		return parseNanos;
+	}
+	
+	/**
+	 * @return The time taken to build the word map, in nanoseconds
+	 */
+	@Override
+	public long getIndexBuildNanos() {
+		return indexBuildNanos;
+	}
+	
+	/**
+	 * @return The number of entries in the word map
+	 */
+	@Override
+	public int getIndexEntries() {
+		return indexEntries;
+	}
+	
+	/**
+	 * @return The estimated heap used by the boggle board, in bytes
+	 */
+	@Override
+	public long getEstimatedBoardBytes() {
+		return estimatedBoardBytes;
+	}
+	
+	/**
+	 * @return The estimated heap used by the word map, the structures used to build it and the
+	 * substring index, if one has been built, in bytes
+	 */
+	@Override
+	public long getEstimatedIndexBytes() {
+		return estimatedIndexBytes;
+	}
+	
+	/**
+	 * @return The estimated heap used by the boggle board and the word map together, in bytes
+	 */
+	@Override
+	public long getEstimatedBytes() {
+		return estimatedBoardBytes + estimatedIndexBytes;
+	}
+	
+	/**
+	 * @return The number of findWord queries made so far
+	 */
+	@Override
+	public long getQueryCount() {
+		long count = 0;
+		for(int i=0; i<HISTOGRAM_BUCKETS; i++) {
+			count += queryLatencyHistogram.get(i);
+		}
+		return count;
+	}
+	
+	/**
+	 * @return The number of findWord queries made so far that found their word
+	 */
+	@Override
+	public long getQueryHitCount() {
+		return queryHitCount.sum();
+	}
+	
+	/**
+	 * @return The total time spent in findWord queries so far, in nanoseconds
+	 */
+	@Override
+	public long getQueryNanosTotal() {
+		return queryNanosTotal.sum();
+	}
+	
+	/**
+	 * @return A copy of the query latency histogram, where element i counts queries that took at
+	 * least 2^i and less than 2^(i+1) nanoseconds
+	 */
+	@Override
+	public long[] getQueryLatencyHistogram() {
+		long[] histogram = new long[HISTOGRAM_BUCKETS];
+		for(int i=0; i<HISTOGRAM_BUCKETS; i++) {
+			histogram[i] = queryLatencyHistogram.get(i);
+		}
+		return histogram;
+	}
+	
+	/**
+	 * Gets an upper bound on a percentile of query latency, from the query latency histogram.
+	 * @param percentile The percentile to get, between 0 and 100
+	 * @return The upper bound of the histogram bucket containing the percentile, in nanoseconds,
+	 * or 0 if no queries have been made
+	 */
+	public long getQueryLatencyPercentileNanos(double percentile) {
+		long[] histogram = getQueryLatencyHistogram();
+		long count = 0;
+		for(long bucket: histogram) {
+			count += bucket;
+		}
+		
+		long rank = (long) Math.ceil(count * percentile / 100);
+		long seen = 0;
+		for(int i=0; i<HISTOGRAM_BUCKETS && count > 0; i++) {
+			seen += histogram[i];
+			if(seen >= rank && histogram[i] > 0) {
+				return i == HISTOGRAM_BUCKETS - 1 ? Long.MAX_VALUE : (1L << (i + 1)) - 1;
+			}
+		}
+		return 0;
+	}
+}
@@ -0,0 +1,25 @@
+package main.java;
+
+/**
+ * The JMX management interface of WordSearchStats.
+ * Register a WordSearch's stats with a platform MBeanServer to expose them to JMX dashboards:
+ * <pre>
+ * ManagementFactory.getPlatformMBeanServer().registerMBean(wordSearch.getStats(),
+ *         new ObjectName("main.java:type=WordSearch,name=puzzle1"));
+ * </pre>
+ *
+ * @author Andrew Hayes
+ * @version 1.0
+ */
+public interface WordSearchStatsMBean {
+	long getParseNanos();
+	long getIndexBuildNanos();
+	int getIndexEntries();
+	long getEstimatedBoardBytes();
+	long getEstimatedIndexBytes();
+	long getEstimatedBytes();
+	long getQueryCount();
+	long getQueryHitCount();
+	long getQueryNanosTotal();
+	long[] getQueryLatencyHistogram();
+}
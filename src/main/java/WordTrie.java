@@ -0,0 +1,186 @@
+package main.java;
+
+import java.util.Arrays;
+
+/**
+ * A prefix trie built from the words being searched for in a boggle board.
+ * WordSearch walks the trie alongside the board, so a traversal can stop as soon as the
+ * letters read so far are no longer the start of any word.
+ *
+ * Every word is also added backwards to a second, reverse trie, whose nodes still hold the word the
+ * right way round. Walking both tries along one line of the board finds the words read forwards
+ * and backwards along that line in a single pass.
+ *
+ * @author Andrew Hayes
+ * @version 1.0
+ */
+final class WordTrie {
+	private final Node root = new Node();
+	private final Node reverseRoot = new Node();
+	private int numNodes = 2;
+	private int shortestWordLength = Integer.MAX_VALUE;
+	private int longestWordLength = 0;
+
+	/**
+	 * Constructs a new WordTrie containing every given word.
+	 * @param words The words to add to this trie
+	 */
+	WordTrie(Iterable<String> words) {
+		for(String word: words) {
+			add(word);
+		}
+	}
+
+	/**
+	 * Adds a word to this trie. Empty words are ignored, since they can never be found on a board.
+	 * @param word The word to add
+	 */
+	void add(String word) {
+		if(word.isEmpty()) {
+			return;
+		}
+
+		Node node = root;
+		for(int i=0; i<word.length(); i++) {
+			node = getOrAddChild(node, word.charAt(i));
+		}
+		node.word = word;
+		node = reverseRoot;
+		for(int i=word.length()-1; i>=0; i--) {
+			node = getOrAddChild(node, word.charAt(i));
+		}
+		node.word = word;
+		shortestWordLength = Math.min(shortestWordLength, word.length());
+		longestWordLength = Math.max(longestWordLength, word.length());
+	}
+
+	private Node getOrAddChild(Node node, char c) {
+		Node child = node.getChild(c);
+		if(child == null) {
+			child = node.addChild(c);
+			numNodes++;
+		}
+		return child;
+	}
+
+	/**
+	 * Checks whether a word has been added to this trie.
+	 * @param word The word to check
+	 * @return true if word was added to this trie, false otherwise
+	 */
+	boolean contains(String word) {
+		Node node = root;
+		for(int i=0; i<word.length() && node != null; i++) {
+			node = node.getChild(word.charAt(i));
+		}
+		return node != null && node.word != null;
+	}
+
+	/**
+	 * Gets the length of the shortest word in this trie.
+	 * @return The length of the shortest word, or Integer.MAX_VALUE if this trie is empty
+	 */
+	int getShortestWordLength() {
+		return shortestWordLength;
+	}
+
+	/**
+	 * Gets the length of the longest word in this trie. No traversal guided by this trie can read
+	 * more characters than this.
+	 * @return The length of the longest word, or 0 if this trie is empty
+	 */
+	int getLongestWordLength() {
+		return longestWordLength;
+	}
+
+	/**
+	 * Estimates the heap used by this trie, not counting the words themselves.
+	 * Every node but the two roots is one edge, costing a char label and a child reference, and every
+	 * node carries its own object header, fields and two array headers.
+	 * @return The estimated size of this trie and its reverse trie in bytes
+	 */
+	long getEstimatedBytes() {
+		return numNodes * (24L + 16 + 16) + (numNodes - 2) * (2L + 4);
+	}
+
+	/**
+	 * Gets the root of this trie, which represents the empty prefix.
+	 * @return The root node
+	 */
+	Node getRoot() {
+		return root;
+	}
+
+	/**
+	 * Gets the root of the reverse trie, in which every word is spelled backwards.
+	 * A node of the reverse trie holds the word it spells backwards, not its reversal.
+	 * @return The reverse root node
+	 */
+	Node getReverseRoot() {
+		return reverseRoot;
+	}
+
+	/**
+	 * A single prefix in a WordTrie. Children are kept in small parallel arrays, since the fan out
+	 * of a prefix is bounded by the size of the board's alphabet and is usually tiny.
+	 */
+	static final class Node {
+		private char[] labels = new char[0];
+		private Node[] children = new Node[0];
+		private String word;
+
+		/**
+		 * Gets the child of this node reached by appending a character to its prefix.
+		 * @param c The character to append
+		 * @return The child node, or null if no word starts with the extended prefix
+		 */
+		Node getChild(char c) {
+			for(int i=0; i<labels.length; i++) {
+				if(labels[i] == c) {
+					return children[i];
+				}
+			}
+			return null;
+		}
+
+		/**
+		 * @return The number of children of this node
+		 */
+		int getNumChildren() {
+			return children.length;
+		}
+
+		/**
+		 * @param i The position of a child, from 0 to getNumChildren() - 1
+		 * @return The character appended to this node's prefix to reach the i-th child
+		 */
+		char getLabelAt(int i) {
+			return labels[i];
+		}
+
+		/**
+		 * @param i The position of a child, from 0 to getNumChildren() - 1
+		 * @return The i-th child of this node
+		 */
+		Node getChildAt(int i) {
+			return children[i];
+		}
+
+		/**
+		 * Gets the word ending at this node.
+		 * @return The word spelled by this node's prefix, or null if the prefix is not itself a word
+		 */
+		String getWord() {
+			return word;
+		}
+
+		private Node addChild(char c) {
+			Node child = new Node();
+			labels = Arrays.copyOf(labels, labels.length + 1);
+			children = Arrays.copyOf(children, children.length + 1);
+			labels[labels.length - 1] = c;
+			children[children.length - 1] = child;
+			return child;
+		}
+	}
+}
@@ -0,0 +1,150 @@
+package test.java;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import main.java.WordSearch;
+
+public class TestLetterBitboards {
+	//not a multiple of 64 wide, so rows start at every offset within the 64-bit words of the bitboards
+	private static final int NUM_COLUMNS = 67;
+	private static final int NUM_ROWS = 23;
+	private static final int[][] DIRECTIONS = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}, {1, -1}, {-1, 1}, {1, 1}, {-1, -1}};
+	
+	@Test
+	public void testPrunedSearchMatchesUnprunedSearch() {
+		char[][] boggleBoard = createBoard();
+		List<String> planted = new ArrayList<String>();
+		//across cells 63 and 64, ending in the last column
+		planted.add(plant(boggleBoard, "HORIZONS", 59, 0, 1, 0));
+		//down from the first 64-bit word into the second, one row of 67 cells at a time
+		planted.add(plant(boggleBoard, "VERTICAL", 64, 2, 0, 1));
+		//DIAGONAL_ASCENDING steps back 66 cells, across 64-bit words
+		planted.add(plant(boggleBoard, "ASCENDING", 50, 20, 1, -1));
+		//read backwards along an ascending diagonal that ends in the last column
+		planted.add(plant(boggleBoard, "REVERSED", 66, 10, -1, 1));
+		planted.add(plant(boggleBoard, "DESCENT", 56, 3, 1, 1));
+		planted.add(plant(boggleBoard, "UPWARD", 3, 20, 0, -1));
+		planted.add(plant(boggleBoard, "WESTWARD", 7, 8, -1, 0));
+		//two letter words starting in the last column a step with dx = 1 can start from
+		planted.add(plant(boggleBoard, "ab", 65, 20, 1, 0));
+		planted.add(plant(boggleBoard, "gh", 65, 21, 1, 1));
+		planted.add(plant(boggleBoard, "ij", 66, 5, -1, 1));
+		//starting in the last column, which only steps with dx = 0 can start from
+		planted.add(plant(boggleBoard, "ef", 66, 1, 0, 1));
+		planted.add(plant(boggleBoard, "k", 30, 11, 1, 0));
+		//the bits of a row end and the next row start are adjacent, but the cells are not
+		plant(boggleBoard, "c", 66, 21, 1, 0);
+		plant(boggleBoard, "d", 0, 22, 1, 0);
+		List<String> words = new ArrayList<String>(planted);
+		words.add("cd");
+		words.add("Q");
+		Random random = new Random(16);
+		for(int i=0; i<16; i++) {
+			words.add(sampleWord(boggleBoard, random));
+		}
+		
+		//more than 64 two letter prefixes, which are never on the board, turn pruning off
+		List<String> unprunedWords = new ArrayList<String>(words);
+		for(int i=0; i<40; i++) {
+			unprunedWords.add("0" + (char) ('A' + i) + "1");
+		}
+		
+		WordSearch pruned = new WordSearch(boggleBoard, words, false);
+		WordSearch unpruned = new WordSearch(boggleBoard, unprunedWords, false);
+		for(String word: words) {
+			assert(pruned.findWord(word).equals(unpruned.findWord(word)));
+		}
+		for(String word: planted) {
+			assert(pruned.findWord(word).equals(findOnlyOccurrence(boggleBoard, word)));
+			assert(unpruned.findWord(word).equals(findOnlyOccurrence(boggleBoard, word)));
+		}
+		assert(pruned.findWord("cd").isEmpty());
+		
+		//edited cells must be moved between bitboards for words that are not wordsToSearchFor
+		String edited = "EDITEDLETTERS";
+		for(int i=0; i<edited.length(); i++) {
+			pruned.setCell(54 + i, 22, edited.charAt(i));
+			boggleBoard[22][54 + i] = edited.charAt(i);
+		}
+		pruned.setCell(62, 0, 'x');
+		boggleBoard[0][62] = 'x';
+		assert(pruned.findWord(edited).equals(findOnlyOccurrence(boggleBoard, edited)));
+		assert(pruned.findWord("ZONS").equals(new WordSearch(boggleBoard, unprunedWords, false).findWord("ZONS")));
+		assert(pruned.findWord("HORIZONS").isEmpty());
+		assert(pruned.findWord("HORxZONS").equals(findOnlyOccurrence(boggleBoard, "HORxZONS")));
+	}
+	
+	private static char[][] createBoard() {
+		Random random = new Random(64);
+		char[][] boggleBoard = new char[NUM_ROWS][NUM_COLUMNS];
+		for(char[] row: boggleBoard) {
+			for(int x=0; x<NUM_COLUMNS; x++) {
+				row[x] = (char) ('A' + random.nextInt(26));
+			}
+		}
+		return boggleBoard;
+	}
+	
+	private static String plant(char[][] boggleBoard, String word, int x, int y, int dx, int dy) {
+		for(int i=0; i<word.length(); i++) {
+			boggleBoard[y + i * dy][x + i * dx] = word.charAt(i);
+		}
+		return word;
+	}
+	
+	private static String sampleWord(char[][] boggleBoard, Random random) {
+		while(true) {
+			int[] direction = DIRECTIONS[random.nextInt(DIRECTIONS.length)];
+			int x = random.nextInt(NUM_COLUMNS);
+			int y = random.nextInt(NUM_ROWS);
+			int length = 2 + random.nextInt(6);
+			int endX = x + (length - 1) * direction[0];
+			int endY = y + (length - 1) * direction[1];
+			if(endX >= 0 && endX < NUM_COLUMNS && endY >= 0 && endY < NUM_ROWS) {
+				StringBuilder word = new StringBuilder();
+				for(int i=0; i<length; i++) {
+					word.append(boggleBoard[y + i * direction[1]][x + i * direction[0]]);
+				}
+				return word.toString();
+			}
+		}
+	}
+	
+	/**
+	 * Finds a word that occurs on a board exactly once by comparing it against every cell in every direction.
+	 * @return The word and its coordinates, formatted as WordSearch.findWord does
+	 */
+	private static String findOnlyOccurrence(char[][] boggleBoard, String word) {
+		String result = null;
+		for(int y=0; y<NUM_ROWS; y++) {
+			for(int x=0; x<NUM_COLUMNS; x++) {
+				for(int[] direction: DIRECTIONS) {
+					if(word.length() == 1 && direction != DIRECTIONS[0]) {
+						continue;
+					}
+					StringBuilder match = new StringBuilder(word).append(": ");
+					for(int i=0; i<word.length() && match!=null; i++) {
+						int currentX = x + i * direction[0];
+						int currentY = y + i * direction[1];
+						if(currentX < 0 || currentX >= NUM_COLUMNS || currentY < 0 || currentY >= NUM_ROWS
+								|| boggleBoard[currentY][currentX] != word.charAt(i)) {
+							match = null;
+						} else {
+							match.append(i > 0 ? ",(" : "(").append(currentX).append(',').append(currentY).append(')');
+						}
+					}
+					if(match != null) {
+						assert(result == null);
+						result = match.toString();
+					}
+				}
+			}
+		}
+		assert(result != null);
+		return result;
+	}
+}
@@ -0,0 +1,100 @@
+package test.java;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import main.java.WordSearch;
+
+public class TestRollingHashSearch {
+	//words at least this long are found by RollingHashSearch, and shorter ones by walking a WordTrie
+	private static final int ROLLING_HASH_MIN_LENGTH = 30;
+	private static final int NUM_COLUMNS = 97;
+	private static final int NUM_ROWS = 71;
+	private static final int[][] DIRECTIONS = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}, {1, -1}, {-1, 1}, {1, 1}, {-1, -1}};
+	
+	@Test
+	public void testRollingHashSearchMatchesTrieSearch() {
+		Random random = new Random(18);
+		for(String alphabet: new String[] {"A", "AC", "ACGT"}) {
+			char[][] boggleBoard = createBoard(random, alphabet);
+			List<String> words = new ArrayList<String>();
+			//a palindrome matches its own reversed spelling at every occurrence
+			String half = randomWord(random, alphabet, 17);
+			words.add(plant(boggleBoard, half + new StringBuilder(half).reverse(), 10, 5, 1, 0));
+			String middle = randomWord(random, alphabet, 16);
+			words.add(plant(boggleBoard, middle + alphabet.charAt(0) + new StringBuilder(middle).reverse(), 60, 2, 0, 1));
+			//occurrences one period apart overlap along the same line
+			words.add(plant(boggleBoard, repeat(alphabet.substring(0, Math.min(2, alphabet.length())), 40), 3, 60, 1, -1));
+			words.add(plant(boggleBoard, repeat(alphabet.substring(0, 1), 35), 90, 20, -1, 1));
+			for(int i=0; i<12; i++) {
+				words.add(sampleWord(boggleBoard, random, i % 3 == 0 ? 2 + random.nextInt(6) : ROLLING_HASH_MIN_LENGTH + random.nextInt(30)));
+			}
+			words.add(randomWord(random, alphabet, ROLLING_HASH_MIN_LENGTH));
+			words.add(words.get(0));
+			
+			WordSearch listed = new WordSearch(boggleBoard, words, false);
+			WordSearch listedParallel = new WordSearch(boggleBoard, words, true);
+			//words that are not wordsToSearchFor are found by walking a WordTrie of that word alone
+			WordSearch unlisted = new WordSearch(boggleBoard, Collections.singletonList("Z"), false);
+			for(String word: words) {
+				String expected = unlisted.findWord(word);
+				assert(listed.findWord(word).equals(expected));
+				assert(listedParallel.findWord(word).equals(expected));
+			}
+		}
+	}
+	
+	private static char[][] createBoard(Random random, String alphabet) {
+		char[][] boggleBoard = new char[NUM_ROWS][NUM_COLUMNS];
+		for(char[] row: boggleBoard) {
+			for(int x=0; x<NUM_COLUMNS; x++) {
+				row[x] = alphabet.charAt(random.nextInt(alphabet.length()));
+			}
+		}
+		return boggleBoard;
+	}
+	
+	private static String randomWord(Random random, String alphabet, int length) {
+		StringBuilder word = new StringBuilder();
+		for(int i=0; i<length; i++) {
+			word.append(alphabet.charAt(random.nextInt(alphabet.length())));
+		}
+		return word.toString();
+	}
+	
+	private static String repeat(String unit, int length) {
+		StringBuilder word = new StringBuilder();
+		while(word.length() < length) {
+			word.append(unit);
+		}
+		return word.substring(0, length);
+	}
+	
+	private static String plant(char[][] boggleBoard, String word, int x, int y, int dx, int dy) {
+		for(int i=0; i<word.length(); i++) {
+			boggleBoard[y + i * dy][x + i * dx] = word.charAt(i);
+		}
+		return word;
+	}
+	
+	private static String sampleWord(char[][] boggleBoard, Random random, int length) {
+		while(true) {
+			int[] direction = DIRECTIONS[random.nextInt(DIRECTIONS.length)];
+			int x = random.nextInt(NUM_COLUMNS);
+			int y = random.nextInt(NUM_ROWS);
+			int endX = x + (length - 1) * direction[0];
+			int endY = y + (length - 1) * direction[1];
+			if(endX >= 0 && endX < NUM_COLUMNS && endY >= 0 && endY < NUM_ROWS) {
+				StringBuilder word = new StringBuilder();
+				for(int i=0; i<length; i++) {
+					word.append(boggleBoard[y + i * direction[1]][x + i * direction[0]]);
+				}
+				return word.toString();
+			}
+		}
+	}
+}
@@ -0,0 +1,31 @@
+package test.java;
+
+import java.io.IOException;
+import java.util.Collections;
+
+import org.junit.Test;
+
+import main.java.ShardedWordSearch;
+import main.java.WordSearch;
+
+public class TestShardedWordSearch {
+	
+	@Test
+	public void testShardedMatchesWholeBoard() throws IOException, InterruptedException {
+		//15 rows in 4 bands of 4 rows, each overlapping the next by 5 rows
+		ShardedWordSearch shardedWordSearch = new ShardedWordSearch(4, Collections.<String>emptyList());
+		assert(shardedWordSearch.findWordsToSearchFor(TestWordSearchStrings.firstTestFile).equals(TestWordSearchStrings.firstCorrectResult));
+	}
+	
+	@Test
+	public void testSingleShard() throws IOException, InterruptedException {
+		ShardedWordSearch shardedWordSearch = new ShardedWordSearch(1, Collections.<String>emptyList());
+		String expected = new WordSearch(TestWordSearchStrings.firstTestFile).findWordsToSearchFor();
+		assert(shardedWordSearch.findWordsToSearchFor(TestWordSearchStrings.firstTestFile).equals(expected));
+	}
+	
+	@Test(expected = IOException.class)
+	public void testMissingFile() throws IOException, InterruptedException {
+		new ShardedWordSearch(2, Collections.<String>emptyList()).findWordsToSearchFor("./DoesNotExist.csv");
+	}
+}
@@ -0,0 +1,72 @@
+package test.java;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import main.java.WordDictionary;
+import main.java.WordSearch;
+
+public class TestWordDictionary {
+	
+	@Test
+	public void testFindDictionaryWordsFindsEveryWord() {
+		WordSearch wordSearch = new WordSearch(TestWordSearchStrings.firstTestFile);
+		WordDictionary dictionary = new WordDictionary(Arrays.asList(TestWordSearchStrings.firstWordsToSearchForString.split(",")));
+		List<String> matches = new ArrayList<String>();
+		
+		wordSearch.findDictionaryWords(dictionary, match -> matches.add(match.toString()));
+		
+		List<String> expected = new ArrayList<String>(Arrays.asList(TestWordSearchStrings.firstCorrectResult.split("\n")));
+		Collections.sort(matches);
+		Collections.sort(expected);
+		assert(matches.equals(expected));
+	}
+	
+	@Test
+	public void testFindDictionaryWordsReportsEveryOccurrence() {
+		char[][] boggleBoard = {
+			{'A', 'B', 'A'},
+			{'B', 'X', 'B'},
+			{'A', 'B', 'A'}
+		};
+		WordSearch wordSearch = new WordSearch(boggleBoard, Arrays.asList("ABA"), false);
+		WordDictionary dictionary = new WordDictionary(Arrays.asList("ABA", "AB", "X", "ABA"));
+		List<String> matches = new ArrayList<String>();
+		
+		wordSearch.findDictionaryWords(dictionary, match -> matches.add(match.toString()));
+		
+		//ABA forwards and backwards along each edge, AB 8 times, and X once despite 8 directions
+		assert(dictionary.size() == 3);
+		assert(Collections.frequency(matches, "X: (1,1)") == 1);
+		assert(matches.contains("ABA: (0,0),(1,0),(2,0)"));
+		assert(matches.contains("ABA: (2,0),(1,0),(0,0)"));
+		assert(matches.size() == 8 + 8 + 1);
+	}
+	
+	@Test
+	public void testLoadDictionaryFile() throws IOException {
+		Path dictionaryFile = Files.createTempFile("WordDictionary", ".txt");
+		try {
+			Files.write(dictionaryFile, "KIRK\r\n\r\nSPOCK\r\n".getBytes(Charset.defaultCharset()));
+			WordDictionary dictionary = WordDictionary.load(dictionaryFile.toString());
+			List<String> matches = new ArrayList<String>();
+			
+			new WordSearch(TestWordSearchStrings.firstTestFile).findDictionaryWords(dictionary, match -> matches.add(match.toString()));
+			
+			assert(dictionary.size() == 2);
+			assert(matches.size() == 2);
+			assert(matches.contains(TestWordSearchStrings.firstHorizontalReverseCorrectResult));
+			assert(matches.contains(TestWordSearchStrings.firstDiagonalDescendingCorrectResult));
+		} finally {
+			Files.delete(dictionaryFile);
+		}
+	}
+}
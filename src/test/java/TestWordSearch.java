@@ -1,8 +1,25 @@
 package test.java;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
 import org.junit.Test;
 
+import main.java.LoadMode;
+import main.java.WordMatch;
 import main.java.WordSearch;
+import main.java.WordSearchStats;
 
 public class TestWordSearch {
 	private WordSearch wordSearchTest;
@@ -100,10 +117,355 @@ public class TestWordSearch {
 		assert(parallelSearchResult.equals(TestWordSearchStrings.firstDiagonalDescendingReverseCorrectResult));
 	}
 	
+	@Test
+	public void testFindWordNotInWordsToSearchFor() {
+		String searchResult = wordSearchTest.findWord("SCOT");
+		assert(searchResult.equals(TestWordSearchStrings.firstUnlistedWordCorrectResult));
+		
+		String parallelSearchResult = wordSearchParallelTest.findWord("SCOT");
+		assert(parallelSearchResult.equals(TestWordSearchStrings.firstUnlistedWordCorrectResult));
+	}
+	
+	@Test
+	public void testFindWordWithSubstringIndex() {
+		WordSearch indexedWordSearch = new WordSearch(TestWordSearchStrings.firstTestFile);
+		long estimatedIndexBytes = indexedWordSearch.getStats().getEstimatedIndexBytes();
+		indexedWordSearch.buildSubstringIndex();
+		assert(indexedWordSearch.getStats().getEstimatedIndexBytes() > estimatedIndexBytes);
+		
+		assert(indexedWordSearch.findWord("SCOT").equals(TestWordSearchStrings.firstUnlistedWordCorrectResult));
+		assert(indexedWordSearch.findWord("KRIK").equals(wordSearchTest.findWord("KRIK")));
+		assert(indexedWordSearch.findWord("ULUS").equals(wordSearchTest.findWord("ULUS")));
+		assert(indexedWordSearch.findWord("PICARD").isEmpty());
+		
+		indexedWordSearch.setCell(0, 5, 'X');
+		assert(indexedWordSearch.findWord("SCOT").isEmpty());
+		WordSearch editedWordSearch = new WordSearch(TestWordSearchStrings.firstTestFile);
+		editedWordSearch.setCell(0, 5, 'X');
+		assert(indexedWordSearch.getStats().getEstimatedIndexBytes() == editedWordSearch.getStats().getEstimatedIndexBytes());
+	}
+	
+	@Test
+	public void testLongWords() {
+		String longWord = TestWordSearchStrings.longWord;
+		char[][] boggleBoard = new char[3][longWord.length()];
+		for(int x=0; x<longWord.length(); x++) {
+			boggleBoard[0][x] = 'X';
+			boggleBoard[1][longWord.length() - 1 - x] = longWord.charAt(x);
+			boggleBoard[2][x] = 'X';
+		}
+		
+		WordSearch longWordSearch = new WordSearch(boggleBoard, Arrays.asList(longWord, longWord.replace('A', 'X')), false);
+		assert(longWordSearch.findWord(longWord).equals(TestWordSearchStrings.longWordCorrectResult));
+		assert(longWordSearch.findWordsToSearchFor().equals(TestWordSearchStrings.longWordCorrectResult + "\n"));
+	}
+	
+	@Test
+	public void testFindWordMissing() {
+		assert(wordSearchTest.findWord("PICARD").isEmpty());
+		assert(wordSearchParallelTest.findWord("PICARD").isEmpty());
+	}
+	
+	@Test
+	public void testCarriageReturnLineEndings() throws IOException {
+		String fileContent = new String(Files.readAllBytes(Paths.get(TestWordSearchStrings.firstTestFile)), Charset.defaultCharset());
+		Path crlfFile = Files.createTempFile("WordSearchCrLf", ".csv");
+		try {
+			Files.write(crlfFile, fileContent.replace("\n", "\r\n").getBytes(Charset.defaultCharset()));
+			WordSearch crlfWordSearch = new WordSearch(crlfFile.toString());
+			
+			assert(crlfWordSearch.getWordsToSearchForString().equals(TestWordSearchStrings.firstWordsToSearchForString));
+			assert(crlfWordSearch.getBoggleBoardString().equals(TestWordSearchStrings.firstBoggleBoardString));
+			assert(crlfWordSearch.findWordsToSearchFor().equals(TestWordSearchStrings.firstCorrectResult));
+		} finally {
+			Files.delete(crlfFile);
+		}
+	}
+	
+	@Test
+	public void testRectangularBoard() throws IOException {
+		Path rectangularFile = Files.createTempFile("WordSearchRectangular", ".csv");
+		try {
+			Files.write(rectangularFile, TestWordSearchStrings.rectangularFileContent.getBytes(Charset.defaultCharset()));
+			WordSearch rectangularWordSearch = new WordSearch(rectangularFile.toString());
+			WordSearch rectangularParallelWordSearch = new WordSearch(rectangularFile.toString(), true);
+			
+			assert(rectangularWordSearch.findWordsToSearchFor().equals(TestWordSearchStrings.rectangularCorrectResult));
+			assert(rectangularParallelWordSearch.findWordsToSearchFor().equals(TestWordSearchStrings.rectangularCorrectResult));
+		} finally {
+			Files.delete(rectangularFile);
+		}
+	}
+	
+	@Test
+	public void testTrailingCommas() throws IOException {
+		Path trailingCommaFile = Files.createTempFile("WordSearchTrailingComma", ".csv");
+		try {
+			Files.write(trailingCommaFile, TestWordSearchStrings.trailingCommaFileContent.getBytes(Charset.defaultCharset()));
+			WordSearch trailingCommaWordSearch = new WordSearch(trailingCommaFile.toString());
+			WordSearch inMemoryWordSearch = new WordSearch(new char[][] {"AB".toCharArray(), "BA".toCharArray()},
+					Arrays.asList("AB", "BA"), false);
+			
+			assert(trailingCommaWordSearch.getBoggleBoardString().equals(inMemoryWordSearch.getBoggleBoardString()));
+			assert(trailingCommaWordSearch.findWordsToSearchFor().equals(inMemoryWordSearch.findWordsToSearchFor()));
+			assert(!trailingCommaWordSearch.findWord("AB").isEmpty());
+		} finally {
+			Files.delete(trailingCommaFile);
+		}
+	}
+	
+	@Test
+	public void testInMemoryBoard() {
+		char[][] boggleBoard = {
+				"CATXYZ".toCharArray(),
+				"DXXXXQ".toCharArray(),
+				"OQQQQQ".toCharArray(),
+				"GQQQQQ".toCharArray()};
+		List<String> wordsToSearchFor = Arrays.asList("CAT", "DOG", "TAC");
+		
+		WordSearch inMemoryWordSearch = new WordSearch(boggleBoard, wordsToSearchFor, false);
+		WordSearch inMemoryParallelWordSearch = new WordSearch(boggleBoard, wordsToSearchFor, true);
+		
+		assert(inMemoryWordSearch.findWordsToSearchFor().equals(TestWordSearchStrings.rectangularCorrectResult));
+		assert(inMemoryParallelWordSearch.findWordsToSearchFor().equals(TestWordSearchStrings.rectangularCorrectResult));
+	}
+	
+	@Test
+	public void testInMemoryBoardInterrupted() {
+		char[][] boggleBoard = {"CAT".toCharArray()};
+		Thread.currentThread().interrupt();
+		try {
+			new WordSearch(boggleBoard, Arrays.asList("CAT"), true);
+			assert(false);
+		} catch(IllegalStateException e) {
+			assert(e.getCause() instanceof InterruptedException);
+		} finally {
+			assert(Thread.interrupted());
+		}
+	}
+	
+	@Test
+	public void testStats() {
+		WordSearch statsWordSearch = new WordSearch(TestWordSearchStrings.firstTestFile);
+		WordSearchStats stats = statsWordSearch.getStats();
+		
+		assert(stats.getParseNanos() > 0);
+		assert(stats.getIndexBuildNanos() > 0);
+		assert(stats.getIndexEntries() == 8);
+		assert(stats.getEstimatedBoardBytes() >= 15 * 15);
+		assert(stats.getEstimatedIndexBytes() > 0);
+		assert(stats.getQueryCount() == 0);
+		
+		statsWordSearch.findWord("SCOTTY");
+		statsWordSearch.findWord("PICARD");
+		statsWordSearch.findApproximateWord("SC?TTY", 0);
+		
+		assert(stats.getQueryCount() == 2);
+		assert(stats.getQueryHitCount() == 1);
+		assert(stats.getQueryLatencyPercentileNanos(100) >= stats.getQueryNanosTotal() / 2);
+	}
+	
+	@Test
+	public void testSaveAndOpenIndex() throws IOException {
+		Path indexFile = Files.createTempFile("WordSearchIndex", ".wsix");
+		try {
+			wordSearchTest.saveIndex(indexFile.toString());
+			WordSearch mappedWordSearch = WordSearch.openIndex(indexFile.toString());
+			
+			assert(mappedWordSearch.getWordsToSearchForString().equals(TestWordSearchStrings.firstWordsToSearchForString));
+			assert(mappedWordSearch.getBoggleBoardString().equals(TestWordSearchStrings.firstBoggleBoardString));
+			assert(mappedWordSearch.findWordsToSearchFor().equals(TestWordSearchStrings.firstCorrectResult));
+			assert(mappedWordSearch.findWord("SCOT").equals(TestWordSearchStrings.firstUnlistedWordCorrectResult));
+			assert(mappedWordSearch.findWord("PICARD").isEmpty());
+		} finally {
+			Files.delete(indexFile);
+		}
+	}
+	
+	@Test(expected = IOException.class)
+	public void testOpenIndexRejectsCsv() throws IOException {
+		WordSearch.openIndex(TestWordSearchStrings.firstTestFile);
+	}
+	
+	@Test
+	public void testOpenIndexRejectsCorruptFile() throws IOException {
+		Path indexFile = Files.createTempFile("WordSearchIndex", ".wsix");
+		Path corruptFile = Files.createTempFile("WordSearchCorruptIndex", ".wsix");
+		try {
+			wordSearchTest.saveIndex(indexFile.toString());
+			byte[] index = Files.readAllBytes(indexFile);
+			for(int length=0; length<index.length; length++) {
+				Files.write(corruptFile, Arrays.copyOf(index, length));
+				assertOpenIndexFails(corruptFile);
+			}
+			
+			//a table size of 8 leaves no empty slot for the 8 words to search for
+			byte[] fullTable = index.clone();
+			ByteBuffer.wrap(fullTable).putInt(24, 8);
+			Files.write(corruptFile, fullTable);
+			assertOpenIndexFails(corruptFile);
+		} finally {
+			Files.delete(indexFile);
+			Files.delete(corruptFile);
+		}
+	}
+	
+	private static void assertOpenIndexFails(Path indexFile) {
+		try {
+			WordSearch.openIndex(indexFile.toString());
+			assert(false);
+		} catch(IOException e) {
+			//expected
+		}
+	}
+	
+	@Test
+	public void testSetCell() {
+		WordSearch editedWordSearch = new WordSearch(TestWordSearchStrings.firstTestFile);
+		WordSearchStats stats = editedWordSearch.getStats();
+		long estimatedIndexBytes = stats.getEstimatedIndexBytes();
+		
+		editedWordSearch.setCell(2, 5, 'X');
+		assert(editedWordSearch.findWord("SCOTTY").isEmpty());
+		assert(editedWordSearch.findWord("SCXT").equals(TestWordSearchStrings.firstEditedUnlistedWordCorrectResult));
+		assert(stats.getIndexEntries() == 7);
+		assert(stats.getEstimatedIndexBytes() < estimatedIndexBytes);
+		
+		editedWordSearch.setCell(2, 5, 'O');
+		assert(editedWordSearch.findWord("SCOTTY").equals(TestWordSearchStrings.firstHorizontalCorrectResult));
+		assert(editedWordSearch.findWordsToSearchFor().equals(TestWordSearchStrings.firstCorrectResult));
+		assert(stats.getIndexEntries() == 8);
+		assert(stats.getEstimatedIndexBytes() == estimatedIndexBytes);
+	}
+	
+	@Test
+	public void testSetCells() {
+		WordSearch editedWordSearch = new WordSearch(TestWordSearchStrings.firstTestFile, true);
+		
+		editedWordSearch.setCells(new int[] {14, 14, 14, 14, 14}, new int[] {10, 11, 12, 13, 14}, "BONES".toCharArray());
+		assert(editedWordSearch.findWord("BONES").equals(TestWordSearchStrings.firstEditedVerticalCorrectResult));
+	}
+	
+	@Test
+	public void testWriteWordsToSearchFor() throws IOException {
+		StringWriter writer = new StringWriter();
+		wordSearchTest.writeWordsToSearchFor(writer);
+		assert(writer.toString().equals(TestWordSearchStrings.firstCorrectResult));
+	}
+	
+	@Test
+	public void testStreamWordsToSearchFor() {
+		List<WordMatch> matches = wordSearchTest.streamWordsToSearchFor().collect(Collectors.toList());
+		assert(matches.size() == 8);
+		
+		WordMatch scotty = matches.get(3);
+		assert(scotty.getWord().equals("SCOTTY"));
+		assert(Arrays.equals(scotty.getCoordinates(), new int[] {0, 5, 1, 5, 2, 5, 3, 5, 4, 5, 5, 5}));
+		assert(scotty.toString().equals(TestWordSearchStrings.firstHorizontalCorrectResult));
+	}
+	
+	@Test
+	public void testFindWordMatch() {
+		WordMatch ned = wordSearchTest.findWordMatch("NED");
+		assert(ned.getLength() == 3);
+		assert(ned.getX(2) == 8 && ned.getY(2) == 10);
+		assert(wordSearchTest.findWordMatch("PICARD") == null);
+	}
+	
+	@Test
+	public void testLoadAsync() throws InterruptedException, ExecutionException {
+		for(LoadMode loadMode: LoadMode.values()) {
+			WordSearch wordSearch = WordSearch.loadAsync(TestWordSearchStrings.firstTestFile, loadMode, ForkJoinPool.commonPool()).get();
+			assert(wordSearch.findWordsToSearchFor().equals(TestWordSearchStrings.firstCorrectResult));
+		}
+		
+		try {
+			WordSearch.loadAsync("./DoesNotExist.csv", LoadMode.AUTO, ForkJoinPool.commonPool()).get();
+			assert(false);
+		} catch(ExecutionException e) {
+			assert(e.getCause() instanceof IOException);
+		}
+	}
+	
+	@Test
+	public void testLoadAsyncLargeBoard() throws IOException, InterruptedException, ExecutionException {
+		//enough rows to be searched a batch at a time while the file is still being read
+		int numColumns = 300;
+		int numRows = 400;
+		Random random = new Random(23);
+		char[][] boggleBoard = new char[numRows][numColumns];
+		for(char[] row: boggleBoard) {
+			for(int x=0; x<numColumns; x++) {
+				row[x] = (char) ('A' + random.nextInt(26));
+			}
+		}
+		StringBuilder fileContent = new StringBuilder();
+		//vertical and diagonal words of the longest length starting on every row, so some start just above a batch's last row
+		for(int y=0; y<numRows; y++) {
+			int x = random.nextInt(numColumns - 12);
+			StringBuilder vertical = new StringBuilder();
+			StringBuilder descending = new StringBuilder();
+			for(int i=0; i<12 && y+i<numRows; i++) {
+				vertical.append(boggleBoard[y + i][x]);
+				descending.append(boggleBoard[y + i][x + i]);
+			}
+			fileContent.append(new String(boggleBoard[y], x, 7)).append(',').append(vertical).append(',')
+					.append(descending.reverse()).append(',');
+		}
+		fileContent.append("NOTHERE\n");
+		for(int y=0; y<numRows; y++) {
+			for(int x=0; x<numColumns; x++) {
+				fileContent.append(x == 0 ? "" : ",").append(boggleBoard[y][x]);
+				if(y == 0) {
+					//only the first character of a cell is kept, so the board is sized too small and regrown while it is read
+					fileContent.append("XX");
+				}
+			}
+			fileContent.append('\n');
+		}
+		
+		Path largeFile = Files.createTempFile("WordSearchLarge", ".csv");
+		ForkJoinPool pool = new ForkJoinPool(2);
+		try {
+			Files.write(largeFile, fileContent.toString().getBytes(Charset.defaultCharset()));
+			String expected = new WordSearch(largeFile.toString()).findWordsToSearchFor();
+			for(LoadMode loadMode: LoadMode.values()) {
+				assert(WordSearch.loadAsync(largeFile.toString(), loadMode, pool).get().findWordsToSearchFor().equals(expected));
+				assert(WordSearch.loadAsync(largeFile.toString(), loadMode, ForkJoinPool.commonPool()).get().findWordsToSearchFor().equals(expected));
+			}
+		} finally {
+			pool.shutdown();
+			Files.delete(largeFile);
+		}
+	}
+	
+	@Test
+	public void testFindApproximateWord() {
+		List<WordMatch> wildcardMatches = wordSearchTest.findApproximateWord("SC?TTY", 0);
+		assert(wildcardMatches.size() == 1);
+		assert(wildcardMatches.get(0).toString().equals(TestWordSearchStrings.firstHorizontalCorrectResult));
+		assert(wordSearchTest.findApproximateWord("SCXTTY", 0).isEmpty());
+		
+		List<WordMatch> approximateMatches = wordSearchTest.findApproximateWord("KIRX", 1);
+		assert(approximateMatches.stream().anyMatch(match -> match.getMismatches() == 1
+				&& match.toString().equals(TestWordSearchStrings.firstHorizontalReverseCorrectResult)));
+		for(WordMatch match: approximateMatches) {
+			assert(match.getMismatches() == 1); //KIRX itself is not on the board
+		}
+	}
+	
 	@Test
 	public void testFindWordsToSearchFor() {
 		assert(searchResult.equals(TestWordSearchStrings.firstCorrectResult));
 		assert(parallelSearchResult.equals(TestWordSearchStrings.firstCorrectResult));
 	}
+	
+	@Test
+	public void testFindWordsToSearchForLoadModes() {
+		for(LoadMode loadMode: LoadMode.values()) {
+			WordSearch wordSearch = new WordSearch(TestWordSearchStrings.firstTestFile, loadMode);
+			assert(wordSearch.findWordsToSearchFor().equals(TestWordSearchStrings.firstCorrectResult));
+		}
+	}
 
 }
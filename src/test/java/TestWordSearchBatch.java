@@ -0,0 +1,70 @@
+package test.java;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+import main.java.LoadMode;
+import main.java.WordSearchBatch;
+
+public class TestWordSearchBatch {
+	
+	@Test
+	public void testSearchHandsOverEveryResult() throws InterruptedException {
+		List<String> paths = Arrays.asList(TestWordSearchStrings.firstTestFile, TestWordSearchStrings.firstTestFile,
+				TestWordSearchStrings.firstTestFile, TestWordSearchStrings.firstTestFile, TestWordSearchStrings.firstTestFile);
+		List<WordSearchBatch.Result> results = new ArrayList<WordSearchBatch.Result>();
+		
+		try(WordSearchBatch batch = new WordSearchBatch(2, 2, true)) {
+			batch.search(paths, results::add);
+		}
+		
+		assert(results.size() == paths.size());
+		for(WordSearchBatch.Result result: results) {
+			assert(result.getError() == null);
+			assert(result.getWordSearch().findWordsToSearchFor().equals(TestWordSearchStrings.firstCorrectResult));
+		}
+	}
+	
+	@Test
+	public void testSearchReportsMissingFile() throws InterruptedException {
+		List<WordSearchBatch.Result> results = new ArrayList<WordSearchBatch.Result>();
+		
+		try(WordSearchBatch batch = new WordSearchBatch(1, 1, false)) {
+			batch.search(Arrays.asList("./DoesNotExist.csv", TestWordSearchStrings.firstTestFile), results::add);
+		}
+		
+		assert(results.size() == 2);
+		assert(results.get(0).getPath().equals("./DoesNotExist.csv"));
+		assert(results.get(0).getWordSearch() == null);
+		assert(results.get(0).getError() != null);
+		assert(results.get(1).getError() == null);
+	}
+	
+	@Test
+	public void testSearchWithAutoLoadMode() throws InterruptedException {
+		List<String> paths = Arrays.asList(TestWordSearchStrings.firstTestFile, TestWordSearchStrings.firstTestFile,
+				TestWordSearchStrings.firstTestFile);
+		List<WordSearchBatch.Result> results = new ArrayList<WordSearchBatch.Result>();
+		
+		//AUTO decides per file from the size of the board and the parallelism of the batch's pool
+		try(WordSearchBatch batch = new WordSearchBatch(1, 2, LoadMode.AUTO)) {
+			batch.search(paths, results::add);
+		}
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try(WordSearchBatch batch = new WordSearchBatch(pool, 2, LoadMode.AUTO)) {
+			batch.search(paths, results::add);
+		} finally {
+			pool.shutdown();
+		}
+		
+		assert(results.size() == 2 * paths.size());
+		for(WordSearchBatch.Result result: results) {
+			assert(result.getError() == null);
+			assert(result.getWordSearch().findWordsToSearchFor().equals(TestWordSearchStrings.firstCorrectResult));
+		}
+	}
+}
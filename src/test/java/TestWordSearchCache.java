@@ -0,0 +1,151 @@
+package test.java;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+import main.java.WordSearch;
+import main.java.WordSearchCache;
+
+public class TestWordSearchCache {
+	
+	@Test
+	public void testEvictsLeastRecentlyUsedByEstimatedBytes() throws IOException, InterruptedException {
+		List<Path> files = copyTestFile(3);
+		try {
+			String first = files.get(0).toString();
+			String second = files.get(1).toString();
+			String third = files.get(2).toString();
+			long boardBytes = new WordSearch(first).getStats().getEstimatedBytes();
+			//room for two of the three identical boards
+			WordSearchCache cache = new WordSearchCache(2 * boardBytes + boardBytes / 2, ForkJoinPool.commonPool());
+			
+			WordSearch firstWordSearch = cache.get(first);
+			WordSearch secondWordSearch = cache.get(second);
+			assert(cache.size() == 2);
+			assert(cache.getEstimatedBytes() == 2 * boardBytes);
+			assert(cache.get(first) == firstWordSearch);
+			
+			//second is now the least recently used, so loading third evicts it rather than first
+			WordSearch thirdWordSearch = cache.get(third);
+			assert(cache.size() == 2);
+			assert(cache.getEstimatedBytes() == 2 * boardBytes);
+			assert(cache.get(third) == thirdWordSearch);
+			assert(cache.get(first) == firstWordSearch);
+			
+			//reloading second evicts third, which has been used less recently than first
+			assert(cache.get(second) != secondWordSearch);
+			assert(cache.get(first) == firstWordSearch);
+			assert(cache.size() == 2);
+			assert(cache.get(third) != thirdWordSearch);
+		} finally {
+			deleteAll(files);
+		}
+	}
+	
+	@Test
+	public void testKeepsBoardLargerThanLimit() throws IOException, InterruptedException {
+		List<Path> files = copyTestFile(2);
+		try {
+			String first = files.get(0).toString();
+			String second = files.get(1).toString();
+			WordSearchCache cache = new WordSearchCache(1, ForkJoinPool.commonPool());
+			
+			WordSearch firstWordSearch = cache.get(first);
+			assert(cache.size() == 1);
+			assert(cache.getEstimatedBytes() > 1);
+			assert(cache.get(first) == firstWordSearch);
+			assert(firstWordSearch.findWordsToSearchFor().equals(TestWordSearchStrings.firstCorrectResult));
+			
+			WordSearch secondWordSearch = cache.get(second);
+			assert(cache.size() == 1);
+			assert(cache.get(second) == secondWordSearch);
+			assert(cache.get(first) != firstWordSearch);
+		} finally {
+			deleteAll(files);
+		}
+	}
+	
+	@Test
+	public void testLoadsEachPathOnce() throws Exception {
+		Path file = Files.createTempFile("WordSearchCache", ".csv");
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			writeLargeBoard(file, 600);
+			WordSearchCache cache = new WordSearchCache(Long.MAX_VALUE, ForkJoinPool.commonPool());
+			CountDownLatch ready = new CountDownLatch(4);
+			List<Future<WordSearch>> loads = new ArrayList<Future<WordSearch>>();
+			for(int i=0; i<4; i++) {
+				loads.add(executor.submit((Callable<WordSearch>) () -> {
+					ready.countDown();
+					ready.await();
+					return cache.get(file.toString());
+				}));
+			}
+			
+			WordSearch loaded = loads.get(0).get();
+			for(Future<WordSearch> load: loads) {
+				assert(load.get() == loaded);
+			}
+			assert(cache.size() == 1);
+			assert(cache.getEstimatedBytes() == loaded.getStats().getEstimatedBytes());
+		} finally {
+			executor.shutdown();
+			Files.delete(file);
+		}
+	}
+	
+	@Test
+	public void testMissingFileIsNotCached() throws InterruptedException {
+		WordSearchCache cache = new WordSearchCache(Long.MAX_VALUE, ForkJoinPool.commonPool());
+		try {
+			cache.get("./DoesNotExist.csv");
+			assert(false);
+		} catch(IOException e) {
+			//expected
+		}
+		assert(cache.size() == 0);
+		assert(cache.getEstimatedBytes() == 0);
+	}
+	
+	private static List<Path> copyTestFile(int copies) throws IOException {
+		List<Path> files = new ArrayList<Path>();
+		for(int i=0; i<copies; i++) {
+			Path file = Files.createTempFile("WordSearchCache", ".csv");
+			files.add(file);
+			Files.write(file, Files.readAllBytes(Paths.get(TestWordSearchStrings.firstTestFile)));
+		}
+		return files;
+	}
+	
+	private static void deleteAll(List<Path> files) throws IOException {
+		for(Path file: files) {
+			Files.delete(file);
+		}
+	}
+	
+	private static void writeLargeBoard(Path file, int size) throws IOException {
+		Random random = new Random(20);
+		StringBuilder content = new StringBuilder("CACHE,SINGLE,FLIGHT\n");
+		for(int y=0; y<size; y++) {
+			for(int x=0; x<size; x++) {
+				content.append(x > 0 ? "," : "").append((char) ('A' + random.nextInt(26)));
+			}
+			content.append('\n');
+		}
+		Files.write(file, content.toString().getBytes(Charset.defaultCharset()));
+	}
+}
@@ -0,0 +1,97 @@
+package test.java;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+import main.java.WordSearch;
+import main.java.WordSearchServer;
+
+public class TestWordSearchServer {
+	
+	@Test
+	public void testFind() throws IOException {
+		try(WordSearchServer server = new WordSearchServer(0, 1 << 20);
+				Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort())) {
+			BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+			Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8);
+			out.write("FIND\t" + TestWordSearchStrings.firstTestFile + "\tSCOTTY\n");
+			out.flush();
+			assert(in.readLine().equals("OK 1"));
+			assert(in.readLine().equals(TestWordSearchStrings.firstHorizontalCorrectResult));
+			
+			//a batch of words, including one that is not one of the words to search for and one not on the board
+			out.write("FIND\t" + TestWordSearchStrings.firstTestFile + "\tKIRK\tSCXT\tKHAN\n");
+			out.flush();
+			assert(in.readLine().equals("OK 3"));
+			assert(in.readLine().equals(TestWordSearchStrings.firstHorizontalReverseCorrectResult));
+			assert(in.readLine().isEmpty());
+			assert(in.readLine().equals(TestWordSearchStrings.firstVerticalReverseCorrectResult));
+			out.write("QUIT\n");
+			out.flush();
+			assert(in.readLine() == null);
+		}
+	}
+	
+	@Test
+	public void testFindAll() throws IOException {
+		String expected = new WordSearch(TestWordSearchStrings.firstTestFile).findWordsToSearchFor();
+		try(WordSearchServer server = new WordSearchServer(0, 1 << 20);
+				Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort())) {
+			BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+			Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8);
+			out.write("FINDALL\t" + TestWordSearchStrings.firstTestFile + "\n");
+			out.flush();
+			int numLines = Integer.parseInt(in.readLine().substring(3));
+			StringBuilder result = new StringBuilder();
+			for(int i=0; i<numLines; i++) {
+				if(i > 0) {
+					result.append('\n');
+				}
+				result.append(in.readLine());
+			}
+			assert(result.toString().equals(expected));
+		}
+	}
+	
+	@Test
+	public void testErrors() throws IOException {
+		try(WordSearchServer server = new WordSearchServer(0, 1 << 20);
+				Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort())) {
+			BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+			Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8);
+			out.write("FIND\t./DoesNotExist.csv\tKIRK\nNONSENSE\n");
+			out.flush();
+			assert(in.readLine().startsWith("ERROR "));
+			assert(in.readLine().startsWith("ERROR "));
+		}
+	}
+	
+	@Test
+	public void testCloseClosesConnections() throws IOException {
+		WordSearchServer server = new WordSearchServer(0, 1 << 20);
+		try(Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort())) {
+			//fail rather than hang if the connection is left open
+			socket.setSoTimeout(5000);
+			BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+			Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8);
+			out.write("FIND\t" + TestWordSearchStrings.firstTestFile + "\tSCOTTY\n");
+			out.flush();
+			assert(in.readLine().equals("OK 1"));
+			assert(in.readLine().equals(TestWordSearchStrings.firstHorizontalCorrectResult));
+			
+			//the connection is idle, with its thread blocked reading the next request
+			server.close();
+			assert(in.readLine() == null);
+		} finally {
+			server.close();
+		}
+	}
+}
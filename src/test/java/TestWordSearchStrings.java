@@ -34,4 +34,23 @@ public final class TestWordSearchStrings {
 	public static final String firstDiagonalAscendingReverseCorrectResult = "UHURA: (4,0),(3,1),(2,2),(1,3),(0,4)";
 	public static final String firstDiagonalDescendingCorrectResult = "SPOCK: (2,1),(3,2),(4,3),(5,4),(6,5)";
 	public static final String firstDiagonalDescendingReverseCorrectResult = "SULU: (3,3),(2,2),(1,1),(0,0)";
+	public static final String rectangularFileContent = "CAT,DOG,TAC\n"
+			+ "C,A,T,X,Y,Z\n"
+			+ "D,X,X,X,X,Q\n"
+			+ "O,Q,Q,Q,Q,Q\n"
+			+ "G,Q,Q,Q,Q,Q\n";
+	public static final String trailingCommaFileContent = "AB,BA\n"
+			+ "A,B,\n"
+			+ "B,A,,\n";
+	public static final String rectangularCorrectResult = "CAT: (0,0),(1,0),(2,0)\n"
+			+ "DOG: (0,1),(0,2),(0,3)\n"
+			+ "TAC: (2,0),(1,0),(0,0)";
+	public static final String firstEditedVerticalCorrectResult = "BONES: (14,10),(14,11),(14,12),(14,13),(14,14)";
+	public static final String firstUnlistedWordCorrectResult = "SCOT: (0,5),(1,5),(2,5),(3,5)";
+	public static final String firstEditedUnlistedWordCorrectResult = "SCXT: (0,5),(1,5),(2,5),(3,5)";
+	public static final String longWord = "ABCDEFGHIJKLMNOPQRSTUVWXYZABCDEFGH";
+	public static final String longWordCorrectResult = "ABCDEFGHIJKLMNOPQRSTUVWXYZABCDEFGH: (33,1),(32,1),(31,1),(30,1),(29,1),(28,1),(27,1),"
+			+ "(26,1),(25,1),(24,1),(23,1),(22,1),(21,1),(20,1),(19,1),(18,1),(17,1),(16,1),(15,1),"
+			+ "(14,1),(13,1),(12,1),(11,1),(10,1),(9,1),(8,1),(7,1),(6,1),(5,1),(4,1),(3,1),(2,1),(1,1),"
+			+ "(0,1)";
 }